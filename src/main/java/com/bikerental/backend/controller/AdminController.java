@@ -5,14 +5,27 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.bikerental.backend.dto.ApiResponse;
 import com.bikerental.backend.dto.BookingDTO;
+import com.bikerental.backend.dto.CursorPage;
+import com.bikerental.backend.dto.DailyStatsDTO;
+import com.bikerental.backend.service.BookingExportService;
 import com.bikerental.backend.service.BookingService;
+import com.bikerental.backend.service.FleetStatsService;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -24,6 +37,12 @@ public class AdminController {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private BookingExportService bookingExportService;
+
+    @Autowired
+    private FleetStatsService fleetStatsService;
+
     @GetMapping("/bookings")
     public ResponseEntity<ApiResponse<Page<BookingDTO>>> getAllBookings(
         @RequestParam(defaultValue = "0") int page,
@@ -48,4 +67,118 @@ public class AdminController {
                     .build());
         }
     }
+
+    @GetMapping("/bookings/cursor")
+    public ResponseEntity<ApiResponse<CursorPage<BookingDTO>>> getAllBookingsByCursor(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "10") int size) {
+        try {
+            CursorPage<BookingDTO> page = bookingService.getAllBookings(cursor, size);
+            return ResponseEntity.ok(ApiResponse.<CursorPage<BookingDTO>>builder()
+                .data(page)
+                .message("All bookings fetched successfully")
+                .success(true)
+                .statusCode(200)
+                .build());
+        } catch (Exception e) {
+            log.error("Error fetching all bookings", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.<CursorPage<BookingDTO>>builder()
+                    .message(e.getMessage())
+                    .success(false)
+                    .statusCode(400)
+                    .build());
+        }
+    }
+
+    /**
+     * Streams every booking (optionally created within [from, to)) with its
+     * payment as CSV or NDJSON, written directly to the response.
+     */
+    @GetMapping("/bookings/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+        @RequestParam(defaultValue = "csv") String format,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        BookingExportService.Format exportFormat;
+        try {
+            exportFormat = BookingExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean csv = exportFormat == BookingExportService.Format.CSV;
+        StreamingResponseBody body = out -> bookingExportService.exportBookings(out, exportFormat, from, to);
+        return ResponseEntity.ok()
+            .contentType(csv ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"bookings." + (csv ? "csv" : "ndjson") + "\"")
+            .body(body);
+    }
+
+    @GetMapping("/analytics/bikes")
+    public ResponseEntity<ApiResponse<List<DailyStatsDTO>>> getBikeStats(
+        @RequestParam(required = false) String bikeId,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            List<DailyStatsDTO> stats = fleetStatsService.getBikeStats(bikeId, from, to);
+            return ResponseEntity.ok(ApiResponse.<List<DailyStatsDTO>>builder()
+                .data(stats)
+                .message("Bike analytics fetched successfully")
+                .success(true)
+                .statusCode(200)
+                .build());
+        } catch (Exception e) {
+            log.error("Error fetching bike analytics", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.<List<DailyStatsDTO>>builder()
+                    .message(e.getMessage())
+                    .success(false)
+                    .statusCode(400)
+                    .build());
+        }
+    }
+
+    @GetMapping("/analytics/locations")
+    public ResponseEntity<ApiResponse<List<DailyStatsDTO>>> getLocationStats(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            List<DailyStatsDTO> stats = fleetStatsService.getLocationStats(from, to);
+            return ResponseEntity.ok(ApiResponse.<List<DailyStatsDTO>>builder()
+                .data(stats)
+                .message("Location analytics fetched successfully")
+                .success(true)
+                .statusCode(200)
+                .build());
+        } catch (Exception e) {
+            log.error("Error fetching location analytics", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.<List<DailyStatsDTO>>builder()
+                    .message(e.getMessage())
+                    .success(false)
+                    .statusCode(400)
+                    .build());
+        }
+    }
+
+    @PostMapping("/analytics/rebuild")
+    public ResponseEntity<ApiResponse<Void>> rebuildAnalytics() {
+        try {
+            fleetStatsService.rebuild();
+            return ResponseEntity.ok(ApiResponse.<Void>builder()
+                .message("Analytics rebuilt successfully")
+                .success(true)
+                .statusCode(200)
+                .build());
+        } catch (Exception e) {
+            log.error("Error rebuilding analytics", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.<Void>builder()
+                    .message(e.getMessage())
+                    .success(false)
+                    .statusCode(500)
+                    .build());
+        }
+    }
 }
@@ -5,14 +5,33 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Flux;
 
 import com.bikerental.backend.dto.ApiResponse;
 import com.bikerental.backend.dto.BikeDTO;
+import com.bikerental.backend.dto.BikeStatusDelta;
+import com.bikerental.backend.dto.BulkImportResult;
+import com.bikerental.backend.dto.CursorPage;
+import com.bikerental.backend.dto.NearbyBikeDTO;
+import com.bikerental.backend.service.BikeCatalogCache;
+import com.bikerental.backend.service.BikeImportService;
 import com.bikerental.backend.service.BikeService;
+import com.bikerental.backend.service.BikeStatusStream;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/bikes")
@@ -23,21 +42,106 @@ public class BikeController {
     @Autowired
     private BikeService bikeService;
 
+    @Autowired
+    private BikeImportService bikeImportService;
+
+    @Autowired
+    private BikeStatusStream bikeStatusStream;
+
+    @Autowired
+    private BikeCatalogCache catalogCache;
+
     @GetMapping
     public ResponseEntity<ApiResponse<Page<BikeDTO>>> getAvailableBikes(
         @RequestParam(defaultValue = "0") int page,
-        @RequestParam(defaultValue = "10") int size) {
+        @RequestParam(defaultValue = "10") int size,
+        WebRequest webRequest) {
+        // Taken before the read so a concurrent change can only make the tag older than the body
+        String etag = catalogCache.etag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         try {
             Pageable pageable = PageRequest.of(page, size);
             Page<BikeDTO> bikes = bikeService.getAvailableBikes(pageable);
-            return ResponseEntity.ok(ApiResponse.<Page<BikeDTO>>builder()
-                .data(bikes)
+            return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(ApiResponse.<Page<BikeDTO>>builder()
+                    .data(bikes)
+                    .message("Bikes fetched successfully")
+                    .success(true)
+                    .statusCode(200)
+                    .build());
+        } catch (Exception e) {
+            log.error("Error fetching bikes", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.<Page<BikeDTO>>builder()
+                    .message(e.getMessage())
+                    .success(false)
+                    .statusCode(400)
+                    .build());
+        }
+    }
+
+    /**
+     * Server-Sent Events feed of bike status and location changes, optionally
+     * limited to one location. A comment heartbeat keeps idle proxies open.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<BikeStatusDelta>> streamBikeChanges(
+        @RequestParam(required = false) String location) {
+        Flux<ServerSentEvent<BikeStatusDelta>> deltas = bikeStatusStream.subscribe(location)
+            .map(delta -> ServerSentEvent.builder(delta)
+                .id(Long.toString(delta.getSequence()))
+                .event("bike")
+                .build());
+        Flux<ServerSentEvent<BikeStatusDelta>> heartbeats = Flux.interval(Duration.ofSeconds(15))
+            .map(tick -> ServerSentEvent.<BikeStatusDelta>builder().comment("heartbeat").build());
+        return Flux.merge(deltas, heartbeats);
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponse<CursorPage<BikeDTO>>> getAvailableBikesByCursor(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "10") int size) {
+        try {
+            CursorPage<BikeDTO> page = bikeService.getAvailableBikes(cursor, size);
+            return ResponseEntity.ok(ApiResponse.<CursorPage<BikeDTO>>builder()
+                .data(page)
                 .message("Bikes fetched successfully")
                 .success(true)
                 .statusCode(200)
                 .build());
         } catch (Exception e) {
             log.error("Error fetching bikes", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.<CursorPage<BikeDTO>>builder()
+                    .message(e.getMessage())
+                    .success(false)
+                    .statusCode(400)
+                    .build());
+        }
+    }
+
+    @GetMapping("/available")
+    public ResponseEntity<ApiResponse<Page<BikeDTO>>> getBikesAvailableBetween(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @RequestParam(required = false) String location,
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(defaultValue = "10") int size) {
+        try {
+            Pageable pageable = PageRequest.of(page, size);
+            Page<BikeDTO> bikes = bikeService.getAvailableBikesBetween(from, to, location, pageable);
+            return ResponseEntity.ok(ApiResponse.<Page<BikeDTO>>builder()
+                .data(bikes)
+                .message("Available bikes fetched successfully")
+                .success(true)
+                .statusCode(200)
+                .build());
+        } catch (Exception e) {
+            log.error("Error fetching available bikes", e);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(ApiResponse.<Page<BikeDTO>>builder()
                     .message(e.getMessage())
@@ -72,16 +176,48 @@ public class BikeController {
         }
     }
 
-    @GetMapping("/{bikeId}")
-    public ResponseEntity<ApiResponse<BikeDTO>> getBikeById(@PathVariable String bikeId) {
+    @GetMapping("/nearby")
+    public ResponseEntity<ApiResponse<List<NearbyBikeDTO>>> getNearbyBikes(
+        @RequestParam double lat,
+        @RequestParam double lon,
+        @RequestParam(defaultValue = "5000") double radius,
+        @RequestParam(defaultValue = "10") int limit) {
         try {
-            BikeDTO bike = bikeService.getBikeById(bikeId);
-            return ResponseEntity.ok(ApiResponse.<BikeDTO>builder()
-                .data(bike)
-                .message("Bike fetched successfully")
+            List<NearbyBikeDTO> bikes = bikeService.findNearbyBikes(lat, lon, radius, limit);
+            return ResponseEntity.ok(ApiResponse.<List<NearbyBikeDTO>>builder()
+                .data(bikes)
+                .message("Nearby bikes fetched successfully")
                 .success(true)
                 .statusCode(200)
                 .build());
+        } catch (Exception e) {
+            log.error("Error fetching nearby bikes", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.<List<NearbyBikeDTO>>builder()
+                    .message(e.getMessage())
+                    .success(false)
+                    .statusCode(400)
+                    .build());
+        }
+    }
+
+    @GetMapping("/{bikeId}")
+    public ResponseEntity<ApiResponse<BikeDTO>> getBikeById(@PathVariable String bikeId, WebRequest webRequest) {
+        String etag = catalogCache.etag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        try {
+            BikeDTO bike = bikeService.getBikeById(bikeId);
+            return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(ApiResponse.<BikeDTO>builder()
+                    .data(bike)
+                    .message("Bike fetched successfully")
+                    .success(true)
+                    .statusCode(200)
+                    .build());
         } catch (Exception e) {
             log.error("Error fetching bike", e);
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -116,6 +252,38 @@ public class BikeController {
         }
     }
 
+    /**
+     * Bulk import. Send the file as the raw body with Content-Type text/csv
+     * (header row required) or application/x-ndjson.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<BulkImportResult>> importBikes(
+        @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+        InputStream body) {
+        try {
+            BikeImportService.Format format = MediaType.parseMediaType(contentType)
+                    .isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? BikeImportService.Format.CSV
+                : BikeImportService.Format.NDJSON;
+            BulkImportResult result = bikeImportService.importBikes(body, format);
+            return ResponseEntity.ok(ApiResponse.<BulkImportResult>builder()
+                .data(result)
+                .message("Imported " + result.getImported() + " bikes, " + result.getFailed() + " rows rejected")
+                .success(true)
+                .statusCode(200)
+                .build());
+        } catch (Exception e) {
+            log.error("Error importing bikes", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.<BulkImportResult>builder()
+                    .message(e.getMessage())
+                    .success(false)
+                    .statusCode(400)
+                    .build());
+        }
+    }
+
     @PutMapping("/{bikeId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<BikeDTO>> updateBike(
@@ -13,9 +13,13 @@ import org.springframework.web.bind.annotation.*;
 import com.bikerental.backend.dto.ApiResponse;
 import com.bikerental.backend.dto.BookingDTO;
 import com.bikerental.backend.dto.CreateBookingRequest;
+import com.bikerental.backend.dto.CursorPage;
+import com.bikerental.backend.dto.PriceQuote;
+import com.bikerental.backend.dto.QuoteRequest;
 import com.bikerental.backend.service.BookingService;
 
 import jakarta.validation.Valid;
+import java.util.List;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 @RestController
@@ -55,6 +59,27 @@ public class BookingController {
         }
     }
 
+    @PostMapping("/quote")
+    public ResponseEntity<ApiResponse<List<PriceQuote>>> quoteBikes(@Valid @RequestBody QuoteRequest request) {
+        try {
+            List<PriceQuote> quotes = bookingService.quoteBikes(request);
+            return ResponseEntity.ok(ApiResponse.<List<PriceQuote>>builder()
+                .data(quotes)
+                .message("Quotes calculated successfully")
+                .success(true)
+                .statusCode(200)
+                .build());
+        } catch (Exception e) {
+            log.error("Error quoting bikes", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.<List<PriceQuote>>builder()
+                    .message(e.getMessage())
+                    .success(false)
+                    .statusCode(400)
+                    .build());
+        }
+    }
+
     @GetMapping
     public ResponseEntity<ApiResponse<Page<BookingDTO>>> getMyBookings(
         @RequestParam(defaultValue = "0") int page,
@@ -83,6 +108,32 @@ public class BookingController {
         }
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponse<CursorPage<BookingDTO>>> getMyBookingsByCursor(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "10") int size) {
+        try {
+            String userId = (String) SecurityContextHolder.getContext()
+                .getAuthentication().getPrincipal();
+
+            CursorPage<BookingDTO> page = bookingService.getBookingsByUser(userId, cursor, size);
+            return ResponseEntity.ok(ApiResponse.<CursorPage<BookingDTO>>builder()
+                .data(page)
+                .message("Bookings fetched successfully")
+                .success(true)
+                .statusCode(200)
+                .build());
+        } catch (Exception e) {
+            log.error("Error fetching bookings", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.<CursorPage<BookingDTO>>builder()
+                    .message(e.getMessage())
+                    .success(false)
+                    .statusCode(400)
+                    .build());
+        }
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<ApiResponse<BookingDTO>> getBookingById(
         @PathVariable String bookingId) {
@@ -0,0 +1,97 @@
+package com.bikerental.backend.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import com.bikerental.backend.dto.ApiResponse;
+import com.bikerental.backend.dto.BikeDTO;
+import com.bikerental.backend.entity.BikeStatus;
+import com.bikerental.backend.service.BikeCatalogSnapshot;
+
+import java.util.List;
+
+/**
+ * Read-only catalog served from BikeCatalogSnapshot. Handlers only read the
+ * in-memory snapshot, so they never block on JDBC or hold a pooled connection.
+ */
+@RestController
+@RequestMapping("/api/catalog")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
+@Slf4j
+public class CatalogController {
+
+    @Autowired
+    private BikeCatalogSnapshot catalogSnapshot;
+
+    @GetMapping("/bikes")
+    public Mono<ResponseEntity<ApiResponse<Page<BikeDTO>>>> getBikes(
+        @RequestParam(required = false) String brand,
+        @RequestParam(required = false) String location,
+        @RequestParam(required = false) BikeStatus status,
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(defaultValue = "10") int size) {
+        return Mono.fromSupplier(() -> {
+            PageRequest pageable = PageRequest.of(page, size);
+            BikeCatalogSnapshot.Snapshot snapshot = catalogSnapshot.current();
+
+            List<BikeDTO> candidates = snapshot.bikes();
+            if (brand != null) {
+                candidates = snapshot.byBrand().getOrDefault(BikeCatalogSnapshot.Snapshot.key(brand), List.of());
+            }
+            if (location != null) {
+                String locationKey = BikeCatalogSnapshot.Snapshot.key(location);
+                candidates = brand == null
+                    ? snapshot.byLocation().getOrDefault(locationKey, List.of())
+                    : candidates.stream()
+                        .filter(bike -> bike.getCurrentLocation() != null
+                            && BikeCatalogSnapshot.Snapshot.key(bike.getCurrentLocation()).equals(locationKey))
+                        .toList();
+            }
+            if (status != null) {
+                candidates = candidates.stream().filter(bike -> bike.getStatus() == status).toList();
+            }
+
+            int from = (int) Math.min(pageable.getOffset(), candidates.size());
+            int to = Math.min(from + size, candidates.size());
+            Page<BikeDTO> bikes = new PageImpl<>(candidates.subList(from, to), pageable, candidates.size());
+            return ResponseEntity.ok(ApiResponse.<Page<BikeDTO>>builder()
+                .data(bikes)
+                .message("Bikes fetched successfully")
+                .success(true)
+                .statusCode(200)
+                .build());
+        }).onErrorResume(e -> {
+            log.error("Error fetching catalog bikes", e);
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.<Page<BikeDTO>>builder()
+                    .message(e.getMessage())
+                    .success(false)
+                    .statusCode(400)
+                    .build()));
+        });
+    }
+
+    @GetMapping("/bikes/{bikeId}")
+    public Mono<ResponseEntity<ApiResponse<BikeDTO>>> getBike(@PathVariable String bikeId) {
+        return Mono.justOrEmpty(catalogSnapshot.current().byId().get(bikeId))
+            .map(bike -> ResponseEntity.ok(ApiResponse.<BikeDTO>builder()
+                .data(bike)
+                .message("Bike fetched successfully")
+                .success(true)
+                .statusCode(200)
+                .build()))
+            .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.<BikeDTO>builder()
+                    .message("Bike not found")
+                    .success(false)
+                    .statusCode(404)
+                    .build()));
+    }
+}
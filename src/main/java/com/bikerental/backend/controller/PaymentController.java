@@ -11,6 +11,7 @@ import com.bikerental.backend.dto.CreateOrderResponse;
 import com.bikerental.backend.dto.VerifyPaymentRequest;
 import com.bikerental.backend.dto.VerifyPaymentResponse;
 import com.bikerental.backend.service.PaymentService;
+import com.bikerental.backend.service.RazorpayWebhookProcessor;
 
 import jakarta.validation.Valid;
 
@@ -23,6 +24,9 @@ public class PaymentController {
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private RazorpayWebhookProcessor webhookProcessor;
+
     @PostMapping("/razorpay/create-order")
     public ResponseEntity<ApiResponse<CreateOrderResponse>> createOrder(
         @RequestParam String bookingId) {
@@ -80,4 +84,31 @@ public class PaymentController {
                     .build());
         }
     }
+
+    /**
+     * Razorpay webhook. Acknowledged as soon as it is verified and queued; a
+     * full queue answers 503 so Razorpay redelivers later.
+     */
+    @PostMapping("/razorpay/webhook")
+    public ResponseEntity<ApiResponse<Void>> webhook(
+        @RequestHeader(value = "X-Razorpay-Event-Id", required = false) String eventId,
+        @RequestHeader(value = "X-Razorpay-Signature", required = false) String signature,
+        @RequestBody byte[] body) {
+        RazorpayWebhookProcessor.Outcome outcome = webhookProcessor.accept(eventId, body, signature);
+        HttpStatus status = switch (outcome) {
+            case ACCEPTED, DUPLICATE -> HttpStatus.OK;
+            case INVALID_SIGNATURE -> HttpStatus.UNAUTHORIZED;
+            case MALFORMED -> HttpStatus.BAD_REQUEST;
+            case QUEUE_FULL -> HttpStatus.SERVICE_UNAVAILABLE;
+        };
+        if (status != HttpStatus.OK) {
+            log.warn("Rejected Razorpay webhook {}: {}", eventId, outcome);
+        }
+        return ResponseEntity.status(status)
+            .body(ApiResponse.<Void>builder()
+                .message(outcome.name())
+                .success(status == HttpStatus.OK)
+                .statusCode(status.value())
+                .build());
+    }
 }
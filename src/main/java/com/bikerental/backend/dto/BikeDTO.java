@@ -21,6 +21,8 @@ public class BikeDTO {
     private BigDecimal pricePerHour;
     private BikeStatus status;
     private String currentLocation;
+    private Double latitude;
+    private Double longitude;
     private Integer mileage;
     private String bikePhotoUrl;
     private String description;
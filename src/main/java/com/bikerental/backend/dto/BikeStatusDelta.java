@@ -0,0 +1,24 @@
+package com.bikerental.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+import com.bikerental.backend.entity.BikeStatus;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BikeStatusDelta {
+    private long sequence;
+    private String bikeId;
+    private BikeStatus status;
+    private String currentLocation;
+    // Set when the bike moved, so location subscribers see it leave
+    private String previousLocation;
+    private boolean deleted;
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,36 @@
+package com.bikerental.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.bikerental.backend.entity.BookingStatus;
+import com.bikerental.backend.entity.PaymentStatus;
+
+/**
+ * One booking joined with its payment (payment columns are null when none
+ * was created), as streamed by the admin export.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingExportRow {
+    private String bookingId;
+    private String userId;
+    private String bikeId;
+    private String bikeRegistrationNumber;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private BigDecimal totalAmount;
+    private BookingStatus status;
+    private String pickupLocation;
+    private String dropoffLocation;
+    private LocalDateTime createdAt;
+    private String razorpayOrderId;
+    private String razorpayPaymentId;
+    private BigDecimal paymentAmount;
+    private PaymentStatus paymentStatus;
+    private LocalDateTime paymentCompletedAt;
+}
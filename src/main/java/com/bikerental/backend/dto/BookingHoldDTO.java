@@ -0,0 +1,14 @@
+package com.bikerental.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingHoldDTO {
+    private String bookingId;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,16 @@
+package com.bikerental.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSlotDTO {
+    private String bookingId;
+    private String bikeId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
@@ -25,4 +25,5 @@ public class CreateBookingRequest {
     private String pickupLocation;
     private String dropoffLocation;
     private String notes;
+    private String promoCode;
 }
@@ -0,0 +1,24 @@
+package com.bikerental.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyStatsDTO {
+    private String bikeId;
+    private String location;
+    private LocalDate day;
+    private long bookings;
+    private long bookedHours;
+    private long completedRides;
+    private BigDecimal revenue;
+    // Booked hours over 24; per-bike rows only
+    private Double utilization;
+}
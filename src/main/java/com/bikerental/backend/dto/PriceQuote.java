@@ -0,0 +1,21 @@
+package com.bikerental.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Amounts are in paise
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceQuote {
+    private String bikeId;
+    private long billedMinutes;
+    private long baseAmount;
+    private long adjustmentAmount;
+    private long discountAmount;
+    private long totalAmount;
+    private String promoCode;
+}
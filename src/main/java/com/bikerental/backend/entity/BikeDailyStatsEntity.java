@@ -0,0 +1,50 @@
+package com.bikerental.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Per-bike daily rollup, keyed by the booking's start date. Maintained by
+ * FleetStatsService; never written through JPA.
+ */
+@Entity
+@Table(name = "bike_daily_stats", indexes = {
+    @Index(name = "idx_bike_daily_stats_day", columnList = "day")
+})
+@IdClass(BikeDailyStatsEntity.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BikeDailyStatsEntity {
+    @Id
+    @Column(name = "bike_id")
+    private String bikeId;
+
+    @Id
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private long bookings;
+
+    @Column(nullable = false)
+    private long bookedHours;
+
+    @Column(nullable = false)
+    private long completedRides;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String bikeId;
+        private LocalDate day;
+    }
+}
@@ -5,12 +5,17 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "bikes")
+@Table(name = "bikes", indexes = {
+    @Index(name = "idx_bikes_status_created", columnList = "status, created_at, id")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.BIKES)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -37,6 +42,8 @@ public class BikeEntity {
     private BikeStatus status;
 
     private String currentLocation;
+    private Double latitude;
+    private Double longitude;
     private Integer mileage;
     private String bikePhotoUrl;
 
@@ -8,7 +8,12 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    @Index(name = "idx_bookings_bike_window", columnList = "bike_id, start_time, end_time, status"),
+    @Index(name = "idx_bookings_created", columnList = "created_at, id"),
+    @Index(name = "idx_bookings_user_created", columnList = "user_id, created_at, id"),
+    @Index(name = "idx_bookings_status_created", columnList = "status, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,21 @@
+package com.bikerental.backend.entity;
+
+/**
+ * Hibernate second-level cache regions. Each one must be declared in
+ * application.conf (Caffeine JCache); an undeclared region fails startup.
+ */
+public final class CacheRegions {
+    public static final String BIKES = "bikes";
+    public static final String USERS = "users";
+    public static final String BIKE_QUERIES = "bike-queries";
+    public static final String USER_QUERIES = "user-queries";
+
+    // Hibernate's own regions for query results without a region and for table update timestamps
+    public static final String DEFAULT_QUERIES = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    public static final String[] ALL = {BIKES, USERS, BIKE_QUERIES, USER_QUERIES, DEFAULT_QUERIES, UPDATE_TIMESTAMPS};
+
+    private CacheRegions() {
+    }
+}
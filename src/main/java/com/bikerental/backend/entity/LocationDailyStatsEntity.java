@@ -0,0 +1,49 @@
+package com.bikerental.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Per-location daily rollup, keyed by the booking's pickup location (or the
+ * bike's location when none was given) and start date.
+ */
+@Entity
+@Table(name = "location_daily_stats", indexes = {
+    @Index(name = "idx_location_daily_stats_day", columnList = "day")
+})
+@IdClass(LocationDailyStatsEntity.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationDailyStatsEntity {
+    @Id
+    private String location;
+
+    @Id
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private long bookings;
+
+    @Column(nullable = false)
+    private long bookedHours;
+
+    @Column(nullable = false)
+    private long completedRides;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String location;
+        private LocalDate day;
+    }
+}
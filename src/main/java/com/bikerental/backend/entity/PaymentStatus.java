@@ -1,5 +1,6 @@
 package com.bikerental.backend.entity;
 
 public enum PaymentStatus {
-    PENDING, COMPLETED, FAILED, REFUNDED
-}
\ No newline at end of file
+    // REFUND_PENDING: captured after the booking was cancelled; owed back to the customer
+    PENDING, COMPLETED, FAILED, REFUND_PENDING, REFUNDED
+}
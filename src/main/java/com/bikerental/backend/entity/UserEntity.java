@@ -4,12 +4,15 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USERS)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -54,6 +57,9 @@ public class UserEntity {
 
     // Profile
     private String profilePhotoUrl;
+
+    // Written by LastLoginWriter; entity updates never overwrite it
+    @Column(updatable = false)
     private LocalDateTime lastLogin;
 
     @Column(nullable = false, updatable = false)
@@ -0,0 +1,46 @@
+package com.bikerental.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A Razorpay webhook event that has been applied, keyed by the
+ * x-razorpay-event-id header so redeliveries are ignored.
+ */
+@Entity
+@Table(name = "razorpay_webhook_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WebhookEventEntity implements Persistable<String> {
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    private String razorpayOrderId;
+
+    private String razorpayPaymentId;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime processedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        processedAt = LocalDateTime.now();
+    }
+
+    // Rows are only ever inserted; skips the merge SELECT for an assigned id
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,17 @@
+package com.bikerental.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import com.bikerental.backend.entity.BikeStatus;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class BikeChangedEvent {
+    private final String bikeId;
+    private final BikeStatus status;
+    private final String currentLocation;
+    private final boolean deleted;
+}
@@ -0,0 +1,18 @@
+package com.bikerental.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * One committed chunk of a bulk import; listeners refresh in bulk instead of
+ * handling a BikeChangedEvent per row.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class BikesImportedEvent {
+    private final List<String> bikeIds;
+}
@@ -0,0 +1,64 @@
+package com.bikerental.backend.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.bikerental.backend.entity.BikeDailyStatsEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BikeDailyStatsRepository extends JpaRepository<BikeDailyStatsEntity, BikeDailyStatsEntity.Key> {
+    List<BikeDailyStatsEntity> findByDayBetweenOrderByDayAscBikeIdAsc(LocalDate from, LocalDate to);
+    List<BikeDailyStatsEntity> findByBikeIdAndDayBetweenOrderByDayAsc(String bikeId, LocalDate from, LocalDate to);
+
+    // Atomic increment; the row is created on first use. Native writes name their table
+    // so Hibernate does not evict every second-level cache region on each booking.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bike_daily_stats"))
+    @Query(value = """
+       INSERT INTO bike_daily_stats (bike_id, day, bookings, booked_hours, completed_rides, revenue)
+       VALUES (:bikeId, :day, :bookings, :bookedHours, :completedRides, :revenue)
+       ON DUPLICATE KEY UPDATE
+           bookings = bookings + VALUES(bookings),
+           booked_hours = booked_hours + VALUES(booked_hours),
+           completed_rides = completed_rides + VALUES(completed_rides),
+           revenue = revenue + VALUES(revenue)
+       """, nativeQuery = true)
+    void increment(@Param("bikeId") String bikeId,
+                   @Param("day") LocalDate day,
+                   @Param("bookings") long bookings,
+                   @Param("bookedHours") long bookedHours,
+                   @Param("completedRides") long completedRides,
+                   @Param("revenue") BigDecimal revenue);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bike_daily_stats"))
+    @Query(value = "DELETE FROM bike_daily_stats", nativeQuery = true)
+    int deleteAllRows();
+
+    // Hours match FleetStatsService.bookedHours: whole hours, at least one
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bike_daily_stats"))
+    @Query(value = """
+       INSERT INTO bike_daily_stats (bike_id, day, bookings, booked_hours, completed_rides, revenue)
+       SELECT b.bike_id, DATE(b.start_time),
+              SUM(b.status <> 'CANCELLED'),
+              SUM(CASE WHEN b.status <> 'CANCELLED'
+                       THEN GREATEST(1, TIMESTAMPDIFF(HOUR, b.start_time, b.end_time)) ELSE 0 END),
+              SUM(b.status = 'COMPLETED'),
+              COALESCE(SUM(CASE WHEN p.status = 'COMPLETED' THEN p.amount END), 0)
+       FROM bookings b
+       LEFT JOIN payment_transactions p ON p.booking_id = b.id
+       GROUP BY b.bike_id, DATE(b.start_time)
+       """, nativeQuery = true)
+    int rebuildFromBookings();
+}
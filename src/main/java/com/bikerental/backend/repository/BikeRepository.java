@@ -1,17 +1,41 @@
 package com.bikerental.backend.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.bikerental.backend.entity.BikeEntity;
 import com.bikerental.backend.entity.BikeStatus;
+import com.bikerental.backend.entity.CacheRegions;
+import com.bikerental.backend.entity.BookingStatus;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 @Repository
 public interface BikeRepository extends JpaRepository<BikeEntity, String> {
+    // Row lock that serializes booking creation per bike across app instances
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT bk FROM BikeEntity bk WHERE bk.id = :bikeId")
+    Optional<BikeEntity> findByIdForUpdate(@Param("bikeId") String bikeId);
+
+    // Result ids are cached until the next write to the bikes table
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.BIKE_QUERIES)
+    })
     Page<BikeEntity> findByStatus(BikeStatus status, Pageable pageable);
     Page<BikeEntity> findByBrand(String brand, Pageable pageable);
     Page<BikeEntity> findByBrandAndStatus(String brand, BikeStatus status, Pageable pageable);
@@ -19,4 +43,53 @@ public interface BikeRepository extends JpaRepository<BikeEntity, String> {
     Page<BikeEntity> findByModelContainingIgnoreCase(String model, Pageable pageable);
     Page<BikeEntity> findByModelContainingIgnoreCaseOrBrandContainingIgnoreCase(
         String model, String brand, Pageable pageable);
+
+    @Query("""
+       SELECT bk FROM BikeEntity bk
+       WHERE bk.status IN :bikeStatuses
+         AND (:location IS NULL OR bk.currentLocation = :location)
+         AND NOT EXISTS (
+             SELECT 1 FROM BookingEntity b
+             WHERE b.bike = bk
+               AND b.startTime < :to
+               AND b.endTime > :from
+               AND b.status IN :bookingStatuses
+         )
+       """)
+    Page<BikeEntity> findAvailableBetween(@Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to,
+                                          @Param("location") String location,
+                                          @Param("bikeStatuses") Collection<BikeStatus> bikeStatuses,
+                                          @Param("bookingStatuses") Collection<BookingStatus> bookingStatuses,
+                                          Pageable pageable);
+
+    @Query("SELECT bk.registrationNumber FROM BikeEntity bk WHERE bk.registrationNumber IN :registrationNumbers")
+    List<String> findExistingRegistrationNumbers(
+        @Param("registrationNumbers") Collection<String> registrationNumbers);
+
+    @Query("""
+       SELECT bk FROM BikeEntity bk
+       WHERE bk.status = :status
+         AND bk.latitude IS NOT NULL
+         AND bk.longitude IS NOT NULL
+       """)
+    List<BikeEntity> findLocatedByStatus(@Param("status") BikeStatus status);
+
+    @Query("SELECT bk.status, COUNT(bk) FROM BikeEntity bk GROUP BY bk.status")
+    List<Object[]> countGroupedByStatus();
+
+    // Keyset pagination, newest first; no OFFSET and no count query
+    List<BikeEntity> findByStatusOrderByCreatedAtDescIdDesc(BikeStatus status, Limit limit);
+
+    @Query("""
+       SELECT bk FROM BikeEntity bk
+       WHERE bk.status = :status
+         AND bk.createdAt <= :createdAt
+         AND (bk.createdAt < :createdAt OR bk.id < :id)
+       ORDER BY bk.createdAt DESC, bk.id DESC
+       """)
+    List<BikeEntity> findPageByStatusAfter(@Param("status") BikeStatus status,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") String id,
+                                           Limit limit);
 }
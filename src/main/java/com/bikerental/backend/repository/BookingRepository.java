@@ -1,17 +1,30 @@
 package com.bikerental.backend.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.bikerental.backend.dto.BookingDTO;
+import com.bikerental.backend.dto.BookingExportRow;
+import com.bikerental.backend.dto.BookingHoldDTO;
+import com.bikerental.backend.dto.BookingSlotDTO;
 import com.bikerental.backend.entity.BookingEntity;
 import com.bikerental.backend.entity.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface BookingRepository extends JpaRepository<BookingEntity, String> {
@@ -20,20 +33,144 @@ public interface BookingRepository extends JpaRepository<BookingEntity, String>
     List<BookingEntity> findByBikeId(String bikeId);
     List<BookingEntity> findByBikeIdAndStatus(String bikeId, BookingStatus status);
     Page<BookingEntity> findByStatus(BookingStatus status, Pageable pageable);
+
+    // Row locks for status transitions that race (hold expiry, payment verify, webhooks).
+    // Several rows are always locked in id order so concurrent batches cannot deadlock.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM BookingEntity b WHERE b.id = :bookingId")
+    Optional<BookingEntity> findByIdForUpdate(@Param("bookingId") String bookingId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM BookingEntity b WHERE b.id IN :bookingIds ORDER BY b.id")
+    List<BookingEntity> findAllByIdForUpdate(@Param("bookingIds") Collection<String> bookingIds);
     
     @Query("SELECT b FROM BookingEntity b WHERE b.bike.id = ?1 AND b.status IN ('PENDING', 'IN_PROGRESS')")
     List<BookingEntity> findActiveBookingsByBikeId(String bikeId);
     
+    // Locking read: unlike a plain SELECT under REPEATABLE READ it sees bookings that other
+    // instances committed after this transaction's first read, e.g. while it waited for the bike lock
+    @Query(value = """
+       SELECT COUNT(*) FROM bookings b
+       WHERE b.bike_id = :bikeId
+         AND b.status IN (:statuses)
+         AND b.start_time < :endTime
+         AND b.end_time > :startTime
+       FOR SHARE
+       """, nativeQuery = true)
+    long countOverlappingBookings(@Param("bikeId") String bikeId,
+                                  @Param("startTime") LocalDateTime startTime,
+                                  @Param("endTime") LocalDateTime endTime,
+                                  @Param("statuses") Collection<String> statuses);
+
+    @Query("""
+       SELECT new com.bikerental.backend.dto.BookingSlotDTO(b.id, b.bike.id, b.startTime, b.endTime)
+       FROM BookingEntity b
+       WHERE b.status IN :statuses
+       """)
+    List<BookingSlotDTO> findSlotsByStatusIn(@Param("statuses") Collection<BookingStatus> statuses);
+
+    @Query("""
+       SELECT new com.bikerental.backend.dto.BookingHoldDTO(b.id, b.createdAt)
+       FROM BookingEntity b
+       WHERE b.status = :status
+       """)
+    List<BookingHoldDTO> findHoldsByStatus(@Param("status") BookingStatus status);
+
+    // Listing projections: one statement per page, no lazy user/bike loads per row
+    @Query(value = """
+       SELECT new com.bikerental.backend.dto.BookingDTO(
+           b.id, b.user.id, bk.id, bk.model, bk.model, b.startTime, b.endTime,
+           b.totalAmount, b.status, b.pickupLocation, b.dropoffLocation, b.createdAt)
+       FROM BookingEntity b JOIN b.bike bk
+       """,
+       countQuery = "SELECT COUNT(b) FROM BookingEntity b")
+    Page<BookingDTO> findAllDTOs(Pageable pageable);
+
+    @Query(value = """
+       SELECT new com.bikerental.backend.dto.BookingDTO(
+           b.id, b.user.id, bk.id, bk.model, bk.model, b.startTime, b.endTime,
+           b.totalAmount, b.status, b.pickupLocation, b.dropoffLocation, b.createdAt)
+       FROM BookingEntity b JOIN b.bike bk
+       WHERE b.user.id = :userId
+       """,
+       countQuery = "SELECT COUNT(b) FROM BookingEntity b WHERE b.user.id = :userId")
+    Page<BookingDTO> findDTOsByUserId(@Param("userId") String userId, Pageable pageable);
+
+    @Query("""
+       SELECT new com.bikerental.backend.dto.BookingDTO(
+           b.id, b.user.id, bk.id, bk.model, bk.model, b.startTime, b.endTime,
+           b.totalAmount, b.status, b.pickupLocation, b.dropoffLocation, b.createdAt)
+       FROM BookingEntity b JOIN b.bike bk
+       WHERE b.id = :bookingId
+       """)
+    Optional<BookingDTO> findDTOById(@Param("bookingId") String bookingId);
+
+    // Keyset pagination, newest first; no OFFSET and no count query
     @Query("""
-       SELECT COUNT(b) FROM BookingEntity b
-       WHERE b.bike.id = :bikeId
-         AND (
-              (b.startTime < :endTime AND b.endTime > :startTime)
-           OR (b.startTime >= :startTime AND b.startTime < :endTime)
-         )
+       SELECT new com.bikerental.backend.dto.BookingDTO(
+           b.id, b.user.id, bk.id, bk.model, bk.model, b.startTime, b.endTime,
+           b.totalAmount, b.status, b.pickupLocation, b.dropoffLocation, b.createdAt)
+       FROM BookingEntity b JOIN b.bike bk
+       ORDER BY b.createdAt DESC, b.id DESC
        """)
-long countOverlappingBookings(@Param("bikeId") String bikeId,
-                              @Param("startTime") LocalDateTime startTime,
-                              @Param("endTime") LocalDateTime endTime);
+    List<BookingDTO> findFirstDTOs(Limit limit);
 
+    @Query("""
+       SELECT new com.bikerental.backend.dto.BookingDTO(
+           b.id, b.user.id, bk.id, bk.model, bk.model, b.startTime, b.endTime,
+           b.totalAmount, b.status, b.pickupLocation, b.dropoffLocation, b.createdAt)
+       FROM BookingEntity b JOIN b.bike bk
+       WHERE b.createdAt <= :createdAt
+         AND (b.createdAt < :createdAt OR b.id < :id)
+       ORDER BY b.createdAt DESC, b.id DESC
+       """)
+    List<BookingDTO> findDTOsAfter(@Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") String id,
+                                   Limit limit);
+
+    @Query("""
+       SELECT new com.bikerental.backend.dto.BookingDTO(
+           b.id, b.user.id, bk.id, bk.model, bk.model, b.startTime, b.endTime,
+           b.totalAmount, b.status, b.pickupLocation, b.dropoffLocation, b.createdAt)
+       FROM BookingEntity b JOIN b.bike bk
+       WHERE b.user.id = :userId
+       ORDER BY b.createdAt DESC, b.id DESC
+       """)
+    List<BookingDTO> findFirstDTOsByUserId(@Param("userId") String userId, Limit limit);
+
+    @Query("""
+       SELECT new com.bikerental.backend.dto.BookingDTO(
+           b.id, b.user.id, bk.id, bk.model, bk.model, b.startTime, b.endTime,
+           b.totalAmount, b.status, b.pickupLocation, b.dropoffLocation, b.createdAt)
+       FROM BookingEntity b JOIN b.bike bk
+       WHERE b.user.id = :userId
+         AND b.createdAt <= :createdAt
+         AND (b.createdAt < :createdAt OR b.id < :id)
+       ORDER BY b.createdAt DESC, b.id DESC
+       """)
+    List<BookingDTO> findDTOsByUserIdAfter(@Param("userId") String userId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") String id,
+                                           Limit limit);
+
+    // Streams rows as DTOs, so nothing accumulates in the persistence context;
+    // with MySQL Connector/J a fetch size of Integer.MIN_VALUE streams row by row
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("""
+       SELECT new com.bikerental.backend.dto.BookingExportRow(
+           b.id, b.user.id, bk.id, bk.registrationNumber, b.startTime, b.endTime, b.totalAmount,
+           b.status, b.pickupLocation, b.dropoffLocation, b.createdAt,
+           p.razorpayOrderId, p.razorpayPaymentId, p.amount, p.status, p.completedAt)
+       FROM BookingEntity b
+       JOIN b.bike bk
+       LEFT JOIN b.payment p
+       WHERE (:from IS NULL OR b.createdAt >= :from)
+         AND (:to IS NULL OR b.createdAt < :to)
+       ORDER BY b.createdAt, b.id
+       """)
+    Stream<BookingExportRow> streamExportRows(@Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to);
 }
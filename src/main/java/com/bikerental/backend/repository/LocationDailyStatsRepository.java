@@ -0,0 +1,62 @@
+package com.bikerental.backend.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.bikerental.backend.entity.LocationDailyStatsEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface LocationDailyStatsRepository
+    extends JpaRepository<LocationDailyStatsEntity, LocationDailyStatsEntity.Key> {
+    List<LocationDailyStatsEntity> findByDayBetweenOrderByDayAscLocationAsc(LocalDate from, LocalDate to);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "location_daily_stats"))
+    @Query(value = """
+       INSERT INTO location_daily_stats (location, day, bookings, booked_hours, completed_rides, revenue)
+       VALUES (:location, :day, :bookings, :bookedHours, :completedRides, :revenue)
+       ON DUPLICATE KEY UPDATE
+           bookings = bookings + VALUES(bookings),
+           booked_hours = booked_hours + VALUES(booked_hours),
+           completed_rides = completed_rides + VALUES(completed_rides),
+           revenue = revenue + VALUES(revenue)
+       """, nativeQuery = true)
+    void increment(@Param("location") String location,
+                   @Param("day") LocalDate day,
+                   @Param("bookings") long bookings,
+                   @Param("bookedHours") long bookedHours,
+                   @Param("completedRides") long completedRides,
+                   @Param("revenue") BigDecimal revenue);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "location_daily_stats"))
+    @Query(value = "DELETE FROM location_daily_stats", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "location_daily_stats"))
+    @Query(value = """
+       INSERT INTO location_daily_stats (location, day, bookings, booked_hours, completed_rides, revenue)
+       SELECT COALESCE(b.pickup_location, bk.current_location, 'UNKNOWN'), DATE(b.start_time),
+              SUM(b.status <> 'CANCELLED'),
+              SUM(CASE WHEN b.status <> 'CANCELLED'
+                       THEN GREATEST(1, TIMESTAMPDIFF(HOUR, b.start_time, b.end_time)) ELSE 0 END),
+              SUM(b.status = 'COMPLETED'),
+              COALESCE(SUM(CASE WHEN p.status = 'COMPLETED' THEN p.amount END), 0)
+       FROM bookings b
+       JOIN bikes bk ON bk.id = b.bike_id
+       LEFT JOIN payment_transactions p ON p.booking_id = b.id
+       GROUP BY COALESCE(b.pickup_location, bk.current_location, 'UNKNOWN'), DATE(b.start_time)
+       """, nativeQuery = true)
+    int rebuildFromBookings();
+}
@@ -1,15 +1,35 @@
 package com.bikerental.backend.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.bikerental.backend.entity.PaymentEntity;
+import com.bikerental.backend.entity.PaymentStatus;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface PaymentRepository extends JpaRepository<PaymentEntity, String> {
     Optional<PaymentEntity> findByRazorpayOrderId(String razorpayOrderId);
+
+    @Query("SELECT p.booking.id FROM PaymentEntity p WHERE p.razorpayOrderId IN :orderIds")
+    List<String> findBookingIdsByRazorpayOrderIdIn(@Param("orderIds") Collection<String> orderIds);
+
+    // Taken after the booking lock (BookingRepository.findByIdForUpdate), never before
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM PaymentEntity p WHERE p.razorpayOrderId IN :orderIds ORDER BY p.id")
+    List<PaymentEntity> findByRazorpayOrderIdInForUpdate(@Param("orderIds") Collection<String> orderIds);
+
     Optional<PaymentEntity> findByRazorpayPaymentId(String razorpayPaymentId);
     Optional<PaymentEntity> findByBookingId(String bookingId);
+    List<PaymentEntity> findByStatusAndRazorpayOrderIdIsNullAndUpdatedAtBefore(
+        PaymentStatus status, LocalDateTime updatedAt);
 }
@@ -0,0 +1,17 @@
+package com.bikerental.backend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.bikerental.backend.entity.WebhookEventEntity;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WebhookEventRepository extends JpaRepository<WebhookEventEntity, String> {
+    @Query("SELECT e.id FROM WebhookEventEntity e WHERE e.id IN :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
+}
@@ -0,0 +1,21 @@
+package com.bikerental.backend.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class JwtPrincipal {
+    private final String userId;
+    private final String phoneNumber;
+    private final String role;
+    private final Instant expiresAt;
+
+    public boolean isExpired() {
+        return !Instant.now().isBefore(expiresAt);
+    }
+}
@@ -1,20 +1,27 @@
 package com.bikerental.backend.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 
 @Component
@@ -30,8 +37,26 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh.expiration}")
     private long refreshExpiration;
 
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private Cache<String, JwtPrincipal> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(cacheMaxSize)
+            .expireAfter(Expiry.creating((String token, JwtPrincipal principal) ->
+                Duration.between(Instant.now(), principal.getExpiresAt())))
+            .build();
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        return signingKey;
     }
 
     public String generateToken(String userId, String phoneNumber, String role) {
@@ -68,12 +93,7 @@ public class JwtTokenProvider {
 
     private Claims parseClaims(String token) {
         try {
-            SecretKey key = getSigningKey();
-            return Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return parser.parseSignedClaims(token).getPayload();
         } catch (ExpiredJwtException e) {
             log.error("JWT token is expired", e);
             throw new JwtException("Token expired");
@@ -92,14 +112,36 @@ public class JwtTokenProvider {
         }
     }
 
-    public String getUserIdFromToken(String token) {
+    /**
+     * Verifies the token once and returns its principal. Verified tokens are
+     * cached until they expire, so repeat requests skip the HMAC check.
+     */
+    public JwtPrincipal authenticate(String token) {
+        JwtPrincipal cached = verifiedTokens.getIfPresent(token);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+        JwtPrincipal principal = parsePrincipal(token);
+        verifiedTokens.put(token, principal);
+        return principal;
+    }
+
+    public JwtPrincipal parsePrincipal(String token) {
         Claims claims = parseClaims(token);
-        return claims.getSubject();
+        return new JwtPrincipal(
+            claims.getSubject(),
+            claims.get("phoneNumber", String.class),
+            claims.get("role", String.class),
+            claims.getExpiration().toInstant());
+    }
+
+    public String getUserIdFromToken(String token) {
+        return authenticate(token).getUserId();
     }
 
     public boolean validateToken(String token) {
         try {
-            parseClaims(token);
+            authenticate(token);
             return true;
         } catch (JwtException e) {
             return false;
@@ -108,8 +150,7 @@ public class JwtTokenProvider {
 
     public String getPhoneNumberFromToken(String token) {
         try {
-            Claims claims = parseClaims(token);
-            return claims.get("phoneNumber", String.class);
+            return authenticate(token).getPhoneNumber();
         } catch (JwtException e) {
             log.error("Error extracting phone number from token", e);
             return null;
@@ -118,8 +159,7 @@ public class JwtTokenProvider {
 
     public String getRoleFromToken(String token) {
         try {
-            Claims claims = parseClaims(token);
-            return claims.get("role", String.class);
+            return authenticate(token).getRole();
         } catch (JwtException e) {
             log.error("Error extracting role from token", e);
             return null;
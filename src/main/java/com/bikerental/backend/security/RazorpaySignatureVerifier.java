@@ -0,0 +1,176 @@
+package com.bikerental.backend.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * HMAC-SHA256 verification of Razorpay checkout and webhook signatures.
+ * Pre-initialised Macs and scratch buffers are pooled, the hex signature is
+ * decoded and compared as raw bytes in constant time, so a verify call does
+ * not allocate in steady state.
+ */
+@Component
+@Slf4j
+public class RazorpaySignatureVerifier {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_BYTES = 32;
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            HEX_VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUES['a' + i] = (byte) (10 + i);
+            HEX_VALUES['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    @Value("${razorpay.key.secret}")
+    private String keySecret;
+
+    @Value("${razorpay.webhook.secret}")
+    private String webhookSecret;
+
+    private HmacVerifier checkout;
+    private HmacVerifier webhook;
+
+    @PostConstruct
+    public void init() {
+        checkout = new HmacVerifier(keySecret);
+        webhook = new HmacVerifier(webhookSecret);
+    }
+
+    /**
+     * Checkout signature: HMAC of "orderId|paymentId" with the key secret.
+     */
+    public boolean verifyPaymentSignature(String orderId, String paymentId, String signature) {
+        if (orderId == null || paymentId == null || signature == null) {
+            return false;
+        }
+        return checkout.verify(orderId, paymentId, signature);
+    }
+
+    /**
+     * Webhook signature: HMAC of the raw request body with the webhook secret.
+     */
+    public boolean verifyWebhookSignature(byte[] body, String signature) {
+        if (body == null || signature == null) {
+            return false;
+        }
+        return webhook.verify(body, signature);
+    }
+
+    private static final class HmacVerifier {
+
+        private final SecretKeySpec key;
+        private final Queue<Scratch> pool = new ConcurrentLinkedQueue<>();
+
+        HmacVerifier(String secret) {
+            this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        }
+
+        boolean verify(String orderId, String paymentId, String signature) {
+            Scratch scratch = borrow();
+            try {
+                scratch.update(orderId);
+                scratch.mac.update((byte) '|');
+                scratch.update(paymentId);
+                return scratch.matches(signature);
+            } finally {
+                release(scratch);
+            }
+        }
+
+        boolean verify(byte[] body, String signature) {
+            Scratch scratch = borrow();
+            try {
+                scratch.mac.update(body);
+                return scratch.matches(signature);
+            } finally {
+                release(scratch);
+            }
+        }
+
+        private Scratch borrow() {
+            Scratch scratch = pool.poll();
+            return scratch != null ? scratch : new Scratch(key);
+        }
+
+        private void release(Scratch scratch) {
+            scratch.mac.reset();
+            pool.offer(scratch);
+        }
+    }
+
+    private static final class Scratch {
+
+        private final Mac mac;
+        private final byte[] expected = new byte[SIGNATURE_BYTES];
+        private final byte[] provided = new byte[SIGNATURE_BYTES];
+        private byte[] text = new byte[64];
+
+        Scratch(SecretKeySpec key) {
+            try {
+                mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 is not available", e);
+            }
+        }
+
+        // Razorpay ids are ASCII; encode them into a reused buffer
+        void update(String value) {
+            int length = value.length();
+            if (text.length < length) {
+                text = new byte[Math.max(length, text.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    mac.update(value.getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+                text[i] = (byte) c;
+            }
+            mac.update(text, 0, length);
+        }
+
+        boolean matches(String signature) {
+            try {
+                mac.doFinal(expected, 0);
+            } catch (ShortBufferException e) {
+                throw new IllegalStateException(e);
+            }
+            if (signature.length() != SIGNATURE_BYTES * 2) {
+                return false;
+            }
+            boolean valid = true;
+            for (int i = 0; i < SIGNATURE_BYTES; i++) {
+                int high = hexValue(signature.charAt(2 * i));
+                int low = hexValue(signature.charAt(2 * i + 1));
+                valid &= (high | low) >= 0;
+                provided[i] = (byte) ((high << 4) | (low & 0x0f));
+            }
+            return MessageDigest.isEqual(expected, provided) & valid;
+        }
+
+        private static int hexValue(char c) {
+            return c < HEX_VALUES.length ? HEX_VALUES[c] : -1;
+        }
+    }
+}
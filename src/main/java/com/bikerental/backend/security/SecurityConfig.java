@@ -28,7 +28,13 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/public/**").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                // Revenue, payment and fleet meters: scrape with an admin bearer token
+                .requestMatchers("/actuator/prometheus").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/payment/razorpay/webhook").permitAll()
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
+                // Bike status is public catalog data, and browser EventSource cannot send an Authorization header
+                .requestMatchers(HttpMethod.GET, "/api/bikes/stream").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/bikes/**").authenticated()
                 .requestMatchers(HttpMethod.POST, "/api/bookings/**").authenticated()
                 .requestMatchers(HttpMethod.GET, "/api/bookings/**").authenticated()
@@ -1,5 +1,6 @@
 package com.bikerental.backend.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -19,6 +20,7 @@ import java.time.LocalDateTime;
 @Service
 @Slf4j
 @Transactional
+@Timed(value = "bikerental.service", percentiles = {0.5, 0.99}, histogram = true)
 public class AuthService {
 
     @Autowired
@@ -27,14 +29,20 @@ public class AuthService {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private LastLoginWriter lastLoginWriter;
+
     public AuthResponse verifyOtp(VerifyOtpRequest request) {
         String phoneNumber = request.getPhoneNumber();
         
-        UserEntity user = userRepository.findByPhoneNumber(phoneNumber)
-            .orElseGet(() -> createNewUser(phoneNumber));
-
-        user.setLastLogin(LocalDateTime.now());
-        user = userRepository.save(user);
+        LocalDateTime loginTime = LocalDateTime.now();
+        UserEntity user = userRepository.findByPhoneNumber(phoneNumber).orElse(null);
+        if (user == null) {
+            user = createNewUser(phoneNumber, loginTime);
+        } else {
+            // Existing users are not written here; the login time is flushed in batches
+            lastLoginWriter.record(user.getId(), loginTime);
+        }
 
         String token = tokenProvider.generateToken(
             user.getId(),
@@ -53,11 +61,12 @@ public class AuthService {
             .build();
     }
 
-    private UserEntity createNewUser(String phoneNumber) {
+    private UserEntity createNewUser(String phoneNumber, LocalDateTime loginTime) {
         UserEntity newUser = UserEntity.builder()
             .phoneNumber(phoneNumber)
             .role(UserRole.CUSTOMER)
             .verificationStatus(VerificationStatus.PENDING)
+            .lastLogin(loginTime)
             .build();
         return userRepository.save(newUser);
     }
@@ -92,7 +101,7 @@ public class AuthService {
             .panVerified(user.getPanVerified())
             .physicalVerificationOneTime(user.getPhysicalVerificationOneTime())
             .profilePhotoUrl(user.getProfilePhotoUrl())
-            .lastLogin(user.getLastLogin())
+            .lastLogin(lastLoginWriter.lastLogin(user.getId(), user.getLastLogin()))
             .createdAt(user.getCreatedAt())
             .updatedAt(user.getUpdatedAt())
             .build();
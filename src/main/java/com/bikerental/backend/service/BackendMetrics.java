@@ -0,0 +1,107 @@
+package com.bikerental.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bikerental.backend.entity.BikeStatus;
+import com.bikerental.backend.entity.BookingStatus;
+import com.bikerental.backend.event.BikeChangedEvent;
+import com.bikerental.backend.event.BikesImportedEvent;
+import com.bikerental.backend.repository.BikeRepository;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Business meters: booking state transitions, payment outcomes and the number
+ * of bikes per status. Counters inside a transaction are only incremented once
+ * it commits.
+ */
+@Component
+public class BackendMetrics {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    private final Map<BikeStatus, AtomicLong> bikesByStatus = new EnumMap<>(BikeStatus.class);
+    private final AtomicBoolean bikeCountsStale = new AtomicBoolean(true);
+
+    @PostConstruct
+    public void init() {
+        for (BikeStatus status : BikeStatus.values()) {
+            AtomicLong count = new AtomicLong();
+            bikesByStatus.put(status, count);
+            Gauge.builder("bikerental.bikes", count, AtomicLong::get)
+                .description("Bikes per status")
+                .tag("status", status.name())
+                .register(meterRegistry);
+        }
+        refreshBikeCounts();
+    }
+
+    public void bookingTransition(BookingStatus from, BookingStatus to) {
+        Counter counter = Counter.builder("bikerental.booking.transitions")
+            .description("Committed booking state transitions")
+            .tag("from", from == null ? "NEW" : from.name())
+            .tag("to", to.name())
+            .register(meterRegistry);
+        afterCommit(counter::increment);
+    }
+
+    public void paymentOutcome(String outcome) {
+        Counter counter = Counter.builder("bikerental.payment.outcomes")
+            .description("Payment order and verification outcomes")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+        afterCommit(counter::increment);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBikeChanged(BikeChangedEvent event) {
+        bikeCountsStale.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBikesImported(BikesImportedEvent event) {
+        bikeCountsStale.set(true);
+    }
+
+    // One grouped count per interval instead of one per bike change
+    @Scheduled(fixedDelayString = "${app.metrics.bike-status-refresh:15s}")
+    public void refreshBikeCounts() {
+        if (!bikeCountsStale.getAndSet(false)) {
+            return;
+        }
+        Map<BikeStatus, Long> counts = new EnumMap<>(BikeStatus.class);
+        for (Object[] row : bikeRepository.countGroupedByStatus()) {
+            counts.put((BikeStatus) row[0], (Long) row[1]);
+        }
+        bikesByStatus.forEach((status, gauge) -> gauge.set(counts.getOrDefault(status, 0L)));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,170 @@
+package com.bikerental.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.bikerental.backend.dto.BookingSlotDTO;
+import com.bikerental.backend.entity.BookingStatus;
+import com.bikerental.backend.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory index of live booking windows per bike, used to answer
+ * "is bike X free in [start, end)" without going to the database.
+ */
+@Component
+@Slf4j
+public class BikeAvailabilityIndex {
+
+    public static final Set<BookingStatus> LIVE_STATUSES =
+        EnumSet.of(BookingStatus.PENDING, BookingStatus.CONFIRMED, BookingStatus.IN_PROGRESS);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final Map<String, BikeSchedule> schedules = new ConcurrentHashMap<>();
+    private final Map<String, Slot> slotsByBooking = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void load() {
+        List<BookingSlotDTO> slots = bookingRepository.findSlotsByStatusIn(LIVE_STATUSES);
+        for (BookingSlotDTO dto : slots) {
+            Slot slot = new Slot(dto.getBookingId(), dto.getBikeId(), dto.getStartTime(), dto.getEndTime());
+            // Existing rows are loaded as-is, even if they overlap each other
+            scheduleFor(slot.bikeId()).add(slot);
+            slotsByBooking.put(slot.bookingId(), slot);
+        }
+        log.info("Loaded {} live booking slots for {} bikes", slots.size(), schedules.size());
+    }
+
+    public boolean isAvailable(String bikeId, LocalDateTime start, LocalDateTime end) {
+        BikeSchedule schedule = schedules.get(bikeId);
+        return schedule == null || !schedule.overlaps(start, end);
+    }
+
+    public boolean hasLiveBookings(String bikeId) {
+        BikeSchedule schedule = schedules.get(bikeId);
+        return schedule != null && !schedule.isEmpty();
+    }
+
+    /**
+     * Atomically checks the window and records the booking. Returns false if the
+     * window overlaps a live booking of the same bike.
+     */
+    public boolean tryReserve(String bookingId, String bikeId, LocalDateTime start, LocalDateTime end) {
+        Slot slot = new Slot(bookingId, bikeId, start, end);
+        if (!scheduleFor(bikeId).tryAdd(slot)) {
+            return false;
+        }
+        slotsByBooking.put(bookingId, slot);
+        return true;
+    }
+
+    public void release(String bookingId) {
+        Slot slot = slotsByBooking.remove(bookingId);
+        if (slot != null) {
+            scheduleFor(slot.bikeId()).remove(slot);
+        }
+    }
+
+    private BikeSchedule scheduleFor(String bikeId) {
+        return schedules.computeIfAbsent(bikeId, id -> new BikeSchedule());
+    }
+
+    private record Slot(String bookingId, String bikeId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    /**
+     * Slots ordered by start time. Any slot overlapping [start, end) must begin
+     * after start - longest, so a query only walks that narrow range.
+     */
+    private static final class BikeSchedule {
+
+        private static final Comparator<Slot> BY_START =
+            Comparator.comparing(Slot::start).thenComparing(Slot::bookingId);
+
+        private final TreeSet<Slot> slots = new TreeSet<>(BY_START);
+        // ReentrantLock rather than synchronized so virtual threads never pin
+        private final ReentrantLock lock = new ReentrantLock();
+        private Duration longest = Duration.ZERO;
+
+        boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            lock.lock();
+            try {
+                Slot from = probe(start.minus(longest));
+                Slot to = probe(end);
+                for (Slot slot : slots.subSet(from, true, to, false)) {
+                    if (slot.end().isAfter(start)) {
+                        return true;
+                    }
+                }
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean tryAdd(Slot slot) {
+            lock.lock();
+            try {
+                if (overlaps(slot.start(), slot.end())) {
+                    return false;
+                }
+                add(slot);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void add(Slot slot) {
+            lock.lock();
+            try {
+                slots.add(slot);
+                Duration length = Duration.between(slot.start(), slot.end());
+                if (length.compareTo(longest) > 0) {
+                    longest = length;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(Slot slot) {
+            lock.lock();
+            try {
+                slots.remove(slot);
+                if (slots.isEmpty()) {
+                    longest = Duration.ZERO;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean isEmpty() {
+            lock.lock();
+            try {
+                return slots.isEmpty();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private static Slot probe(LocalDateTime time) {
+            return new Slot("", null, time, time);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.bikerental.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bikerental.backend.event.BikeChangedEvent;
+import com.bikerental.backend.event.BikesImportedEvent;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for bike catalog reads. Every bike change clears it after
+ * commit; loads that started before a change are not stored, so a page read
+ * while a bike was READY cannot be cached after it moved to IN_PROCESS.
+ * The catalog version behind etag() is bumped once the cache is cleared.
+ */
+@Component
+@Slf4j
+public class BikeCatalogCache {
+
+    @Value("${app.cache.bike-catalog.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.cache.bike-catalog.ttl:60s}")
+    private Duration ttl;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+    // Tells this process's versions apart from another instance's or an earlier run's
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private Cache<Object, Object> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "bikeCatalog");
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Supplier<T> loader) {
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        long observed = generation.get();
+        T value = loader.get();
+        if (value != null && generation.get() == observed) {
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Strong ETag for catalog responses. Read it before loading the response:
+     * it changes after every local bike write, and at least once per TTL so
+     * writes made on other instances surface no later than the cache would.
+     */
+    public String etag() {
+        long ttlBucket = System.currentTimeMillis() / ttl.toMillis();
+        return "\"" + epoch + "-" + version.get() + "-" + ttlBucket + "\"";
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBikeChanged(BikeChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBikesImported(BikesImportedEvent event) {
+        invalidate();
+    }
+
+    private void invalidate() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,201 @@
+package com.bikerental.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bikerental.backend.dto.BikeDTO;
+import com.bikerental.backend.entity.BikeEntity;
+import com.bikerental.backend.event.BikeChangedEvent;
+import com.bikerental.backend.event.BikesImportedEvent;
+import com.bikerental.backend.repository.BikeRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Immutable in-memory copy of the bike catalog for the reactive read API.
+ * Readers dereference a volatile snapshot and never touch the database; bike
+ * change events derive a new snapshot from the old one, touching only the
+ * changed bikes, and swap it in.
+ */
+@Component
+@Slf4j
+public class BikeCatalogSnapshot {
+
+    private static final Comparator<BikeDTO> ORDER = Comparator.comparing(BikeDTO::getBrand,
+            Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(BikeDTO::getModel, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(BikeDTO::getId);
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Snapshot current = Snapshot.of(List.of());
+
+    @PostConstruct
+    public void load() {
+        List<BikeDTO> bikes = bikeRepository.findAll().stream().map(BikeService::mapBikeToDTO).toList();
+        current = Snapshot.of(bikes);
+        log.info("Loaded catalog snapshot with {} bikes", bikes.size());
+    }
+
+    public Snapshot current() {
+        return current;
+    }
+
+    // Re-read under the write lock: of two listeners racing for the same bike, the one that
+    // applies last also read last, so an older row can never replace a newer one
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBikeChanged(BikeChangedEvent event) {
+        writeLock.lock();
+        try {
+            List<BikeDTO> changed = event.isDeleted() ? List.of() : bikeRepository.findById(event.getBikeId())
+                .map(BikeService::mapBikeToDTO)
+                .map(List::of)
+                .orElse(List.of());
+            apply(List.of(event.getBikeId()), changed);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBikesImported(BikesImportedEvent event) {
+        writeLock.lock();
+        try {
+            List<BikeDTO> imported = bikeRepository.findAllById(event.getBikeIds()).stream()
+                .map(BikeService::mapBikeToDTO)
+                .toList();
+            apply(event.getBikeIds(), imported);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Callers hold writeLock, so two events cannot both start from the same old snapshot
+    private void apply(Collection<String> removedIds, List<BikeDTO> upserts) {
+        current = current.with(removedIds, upserts);
+    }
+
+    /**
+     * One immutable version of the catalog with the lookups the API needs.
+     * Brand and location keys are lower-cased.
+     */
+    public record Snapshot(List<BikeDTO> bikes, Map<String, BikeDTO> byId,
+                           Map<String, List<BikeDTO>> byBrand, Map<String, List<BikeDTO>> byLocation) {
+
+        static Snapshot of(Collection<BikeDTO> source) {
+            List<BikeDTO> bikes = new ArrayList<>(source);
+            bikes.sort(ORDER);
+            Map<String, BikeDTO> byId = new HashMap<>();
+            Map<String, List<BikeDTO>> byBrand = new HashMap<>();
+            Map<String, List<BikeDTO>> byLocation = new HashMap<>();
+            for (BikeDTO bike : bikes) {
+                byId.put(bike.getId(), bike);
+                if (bike.getBrand() != null) {
+                    byBrand.computeIfAbsent(key(bike.getBrand()), k -> new ArrayList<>()).add(bike);
+                }
+                if (bike.getCurrentLocation() != null) {
+                    byLocation.computeIfAbsent(key(bike.getCurrentLocation()), k -> new ArrayList<>()).add(bike);
+                }
+            }
+            byBrand.replaceAll((k, v) -> List.copyOf(v));
+            byLocation.replaceAll((k, v) -> List.copyOf(v));
+            return new Snapshot(List.copyOf(bikes), Map.copyOf(byId), Map.copyOf(byBrand), Map.copyOf(byLocation));
+        }
+
+        /**
+         * The next version with only the given bikes removed or replaced. The
+         * sorted list is edited by binary search instead of re-sorted, and only
+         * the brand and location groups those bikes belong to are copied.
+         */
+        Snapshot with(Collection<String> removedIds, List<BikeDTO> upserts) {
+            List<BikeDTO> sorted = new ArrayList<>(bikes);
+            Map<String, BikeDTO> ids = new HashMap<>(byId);
+            Map<String, List<BikeDTO>> brands = new HashMap<>();
+            Map<String, List<BikeDTO>> locations = new HashMap<>();
+            for (String id : removedIds) {
+                BikeDTO previous = ids.remove(id);
+                if (previous != null) {
+                    remove(sorted, brands, locations, previous);
+                }
+            }
+            for (BikeDTO bike : upserts) {
+                BikeDTO previous = ids.put(bike.getId(), bike);
+                if (previous != null) {
+                    remove(sorted, brands, locations, previous);
+                }
+                insert(sorted, bike);
+                if (bike.getBrand() != null) {
+                    insert(group(brands, byBrand, bike.getBrand()), bike);
+                }
+                if (bike.getCurrentLocation() != null) {
+                    insert(group(locations, byLocation, bike.getCurrentLocation()), bike);
+                }
+            }
+            return new Snapshot(Collections.unmodifiableList(sorted), Collections.unmodifiableMap(ids),
+                merge(byBrand, brands), merge(byLocation, locations));
+        }
+
+        public static String key(String value) {
+            return value.trim().toLowerCase(Locale.ROOT);
+        }
+
+        private void remove(List<BikeDTO> sorted, Map<String, List<BikeDTO>> brands,
+                            Map<String, List<BikeDTO>> locations, BikeDTO bike) {
+            remove(sorted, bike);
+            if (bike.getBrand() != null) {
+                remove(group(brands, byBrand, bike.getBrand()), bike);
+            }
+            if (bike.getCurrentLocation() != null) {
+                remove(group(locations, byLocation, bike.getCurrentLocation()), bike);
+            }
+        }
+
+        // Copied on first edit; untouched groups stay shared with the previous version
+        private static List<BikeDTO> group(Map<String, List<BikeDTO>> edited, Map<String, List<BikeDTO>> groups,
+                                           String value) {
+            return edited.computeIfAbsent(key(value), k -> new ArrayList<>(groups.getOrDefault(k, List.of())));
+        }
+
+        private static Map<String, List<BikeDTO>> merge(Map<String, List<BikeDTO>> groups,
+                                                        Map<String, List<BikeDTO>> edited) {
+            if (edited.isEmpty()) {
+                return groups;
+            }
+            Map<String, List<BikeDTO>> merged = new HashMap<>(groups);
+            edited.forEach((key, bikes) -> {
+                if (bikes.isEmpty()) {
+                    merged.remove(key);
+                } else {
+                    merged.put(key, List.copyOf(bikes));
+                }
+            });
+            return Collections.unmodifiableMap(merged);
+        }
+
+        // ORDER ends with the id, so every bike has exactly one position
+        private static void insert(List<BikeDTO> sorted, BikeDTO bike) {
+            int index = Collections.binarySearch(sorted, bike, ORDER);
+            sorted.add(index < 0 ? -index - 1 : index, bike);
+        }
+
+        private static void remove(List<BikeDTO> sorted, BikeDTO bike) {
+            int index = Collections.binarySearch(sorted, bike, ORDER);
+            if (index >= 0) {
+                sorted.remove(index);
+            }
+        }
+    }
+}
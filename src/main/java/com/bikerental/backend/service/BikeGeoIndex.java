@@ -0,0 +1,310 @@
+package com.bikerental.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bikerental.backend.entity.BikeEntity;
+import com.bikerental.backend.entity.BikeStatus;
+import com.bikerental.backend.event.BikeChangedEvent;
+import com.bikerental.backend.event.BikesImportedEvent;
+import com.bikerental.backend.repository.BikeRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Uniform lat/lon grid over READY bikes that have coordinates. Nearest
+ * queries grow a rectangle of cells outward from the query point and stop as
+ * soon as no unvisited cell can hold anything closer than the current k-th hit.
+ */
+@Component
+@Slf4j
+public class BikeGeoIndex {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    private static final double METERS_PER_DEGREE = Math.PI * EARTH_RADIUS_METERS / 180;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Value("${app.geo.cell-size-degrees:0.01}")
+    private double cellDegrees;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Serializes re-read and apply, as in BikeSearchIndex
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final Map<Long, List<Point>> cells = new HashMap<>();
+    private final Map<String, Point> points = new HashMap<>();
+    private int lonCells;
+    private int latCells;
+
+    @PostConstruct
+    public void load() {
+        lonCells = (int) Math.ceil(360 / cellDegrees);
+        latCells = (int) Math.ceil(180 / cellDegrees);
+        List<BikeEntity> bikes = bikeRepository.findLocatedByStatus(BikeStatus.READY);
+        bikes.forEach(this::index);
+        log.info("Indexed {} located bikes in {} grid cells", points.size(), cells.size());
+    }
+
+    // Runs before the catalog snapshot swap so a bike never shows up there before it is findable here
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBikeChanged(BikeChangedEvent event) {
+        refreshLock.lock();
+        try {
+            // The event's status may already be outdated, so only the re-read row decides
+            if (event.isDeleted()) {
+                remove(event.getBikeId());
+                return;
+            }
+            bikeRepository.findById(event.getBikeId())
+                .ifPresentOrElse(this::index, () -> remove(event.getBikeId()));
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBikesImported(BikesImportedEvent event) {
+        refreshLock.lock();
+        try {
+            bikeRepository.findAllById(event.getBikeIds()).forEach(this::index);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    public void index(BikeEntity bike) {
+        if (bike.getStatus() != BikeStatus.READY
+                || !isValid(bike.getLatitude(), bike.getLongitude())) {
+            remove(bike.getId());
+            return;
+        }
+        double lat = bike.getLatitude();
+        double lon = bike.getLongitude();
+        double latRad = Math.toRadians(lat);
+        Point point = new Point(bike.getId(), latRad, Math.toRadians(lon), Math.cos(latRad),
+            cellKey(latCell(lat), lonCell(lon)));
+
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(bike.getId());
+            points.put(point.bikeId(), point);
+            cells.computeIfAbsent(point.cell(), key -> new ArrayList<>()).add(point);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String bikeId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(bikeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to limit bikes within radiusMeters of the point, nearest first.
+     */
+    public List<Hit> nearest(double lat, double lon, double radiusMeters, int limit) {
+        Search search = new Search(lat, lon, radiusMeters, limit);
+        int centerLat = latCell(lat);
+        int centerLon = lonCell(lon);
+
+        // Cells more than maxLat rows or maxLon columns away are provably out of range
+        double rowMeters = cellDegrees * METERS_PER_DEGREE;
+        double maxAbsLat = Math.min(90, Math.abs(lat) + radiusMeters / METERS_PER_DEGREE);
+        double cosMaxLat = Math.cos(Math.toRadians(maxAbsLat));
+        int maxLat = (int) Math.ceil(radiusMeters / rowMeters) + 1;
+        double sinHalfLon = Math.sin(radiusMeters / (2 * EARTH_RADIUS_METERS)) / cosMaxLat;
+        int maxLon = sinHalfLon >= 1 ? lonCells / 2
+            : (int) Math.min(lonCells / 2, Math.ceil(Math.toDegrees(2 * Math.asin(sinHalfLon)) / cellDegrees) + 1);
+        // Grow the searched rectangle so it stays roughly square on the ground
+        double columnsPerRow = 1 / Math.max(cosMaxLat, 1e-9);
+
+        lock.readLock().lock();
+        try {
+            int prevLat = -1;
+            int prevLon = -1;
+            for (int step = 0; prevLat < maxLat || prevLon < maxLon; step++) {
+                if (prevLat >= 0) {
+                    // Unvisited cells lie beyond prevLat rows or prevLon columns
+                    double floor = Math.min(
+                        prevLat < maxLat ? prevLat * rowMeters : Double.MAX_VALUE,
+                        prevLon < maxLon ? columnFloorMeters(prevLon, cosMaxLat) : Double.MAX_VALUE);
+                    if (floor > radiusMeters || floor > search.kthDistanceMeters()) {
+                        break;
+                    }
+                }
+                int latHalf = Math.min(step, maxLat);
+                int lonHalf = (int) Math.min(maxLon, Math.max(step, Math.round(step * columnsPerRow)));
+                // Columns wrap at the antimeridian; a full band must not visit a column twice
+                int lonHi = Math.min(lonHalf, lonCells - 1 - lonHalf);
+                for (int dLat = -latHalf; dLat <= latHalf; dLat++) {
+                    int latIndex = centerLat + dLat;
+                    if (latIndex < 0 || latIndex >= latCells) {
+                        continue;
+                    }
+                    if (Math.abs(dLat) > prevLat) {
+                        scanRow(search, latIndex, centerLon, -lonHalf, lonHi);
+                    } else {
+                        scanRow(search, latIndex, centerLon, -lonHalf, -prevLon - 1);
+                        scanRow(search, latIndex, centerLon, prevLon + 1, lonHi);
+                    }
+                }
+                prevLat = latHalf;
+                prevLon = lonHalf;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return search.hits();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return points.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static boolean isValid(Double latitude, Double longitude) {
+        return latitude != null && longitude != null
+            && latitude >= -90 && latitude <= 90
+            && longitude >= -180 && longitude <= 180;
+    }
+
+    static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double lat1Rad = Math.toRadians(lat1);
+        double lat2Rad = Math.toRadians(lat2);
+        return toMeters(haversine(lat1Rad, Math.toRadians(lon1), Math.cos(lat1Rad),
+            lat2Rad, Math.toRadians(lon2), Math.cos(lat2Rad)));
+    }
+
+    // Haversine of the central angle; monotonic in distance, so hits are ranked on it directly
+    private static double haversine(double lat1, double lon1, double cosLat1,
+                                    double lat2, double lon2, double cosLat2) {
+        double sinHalfLat = Math.sin((lat2 - lat1) / 2);
+        double sinHalfLon = Math.sin((lon2 - lon1) / 2);
+        return sinHalfLat * sinHalfLat + cosLat1 * cosLat2 * sinHalfLon * sinHalfLon;
+    }
+
+    private static double toMeters(double haversine) {
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(haversine)));
+    }
+
+    // Lower bound on the distance to any point more than columns cells away in longitude
+    private double columnFloorMeters(int columns, double cosMaxLat) {
+        double halfLon = Math.min(Math.PI / 2, Math.toRadians(columns * cellDegrees) / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, cosMaxLat * Math.sin(halfLon)));
+    }
+
+    private void scanRow(Search search, int latIndex, int centerLon, int fromLon, int toLon) {
+        for (int dLon = fromLon; dLon <= toLon; dLon++) {
+            List<Point> cell = cells.get(cellKey(latIndex, Math.floorMod(centerLon + dLon, lonCells)));
+            if (cell != null) {
+                cell.forEach(search::offer);
+            }
+        }
+    }
+
+    private void removeUnlocked(String bikeId) {
+        Point point = points.remove(bikeId);
+        if (point == null) {
+            return;
+        }
+        List<Point> cell = cells.get(point.cell());
+        cell.remove(point);
+        if (cell.isEmpty()) {
+            cells.remove(point.cell());
+        }
+    }
+
+    private int latCell(double lat) {
+        return Math.min((int) Math.floor((lat + 90) / cellDegrees), latCells - 1);
+    }
+
+    private int lonCell(double lon) {
+        return Math.floorMod((int) Math.floor((lon + 180) / cellDegrees), lonCells);
+    }
+
+    private static long cellKey(int latIndex, int lonIndex) {
+        return ((long) latIndex << 32) | lonIndex;
+    }
+
+    private record Point(String bikeId, double latRad, double lonRad, double cosLat, long cell) {
+    }
+
+    private record Candidate(Point point, double haversine) {
+    }
+
+    /**
+     * Bounded max-heap of the closest points seen so far for one query.
+     */
+    private static final class Search {
+        private final double latRad;
+        private final double lonRad;
+        private final double cosLat;
+        private final double maxHaversine;
+        private final int limit;
+        private final PriorityQueue<Candidate> best;
+
+        Search(double lat, double lon, double radiusMeters, int limit) {
+            this.latRad = Math.toRadians(lat);
+            this.lonRad = Math.toRadians(lon);
+            this.cosLat = Math.cos(latRad);
+            double sinHalfAngle = Math.sin(Math.min(Math.PI / 2, radiusMeters / (2 * EARTH_RADIUS_METERS)));
+            this.maxHaversine = sinHalfAngle * sinHalfAngle;
+            this.limit = limit;
+            this.best = new PriorityQueue<>(limit + 1,
+                Comparator.comparingDouble(Candidate::haversine).reversed());
+        }
+
+        void offer(Point point) {
+            double h = haversine(latRad, lonRad, cosLat, point.latRad(), point.lonRad(), point.cosLat());
+            if (h > maxHaversine) {
+                return;
+            }
+            if (best.size() < limit) {
+                best.add(new Candidate(point, h));
+            } else if (h < best.peek().haversine()) {
+                best.poll();
+                best.add(new Candidate(point, h));
+            }
+        }
+
+        double kthDistanceMeters() {
+            return best.size() < limit ? Double.MAX_VALUE : toMeters(best.peek().haversine());
+        }
+
+        List<Hit> hits() {
+            List<Hit> hits = new ArrayList<>(best.size());
+            for (Candidate candidate : best) {
+                hits.add(new Hit(candidate.point().bikeId(), toMeters(candidate.haversine())));
+            }
+            hits.sort(Comparator.comparingDouble(Hit::distanceMeters).thenComparing(Hit::bikeId));
+            return hits;
+        }
+    }
+
+    public record Hit(String bikeId, double distanceMeters) {
+    }
+}
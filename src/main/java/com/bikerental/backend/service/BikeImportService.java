@@ -0,0 +1,282 @@
+package com.bikerental.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bikerental.backend.dto.BulkImportResult;
+import com.bikerental.backend.entity.BikeStatus;
+import com.bikerental.backend.event.BikesImportedEvent;
+import com.bikerental.backend.repository.BikeRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bulk bike import from CSV or NDJSON. The upload is read line by line and
+ * written in chunks of JDBC batch inserts, one transaction per chunk, so memory
+ * use does not grow with the file. Invalid rows are reported, not fatal.
+ */
+@Service
+@Slf4j
+public class BikeImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final String INSERT_SQL = """
+        INSERT INTO bikes (id, model, brand, registration_number, price_per_hour, status,
+                           current_location, latitude, longitude, mileage, bike_photo_url, description,
+                           year_of_manufacture, color, created_at, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public BulkImportResult importBikes(InputStream body, Format format) throws IOException {
+        long started = System.nanoTime();
+        ImportRun run = new ImportRun();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        String[] header = null;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && header == null) {
+                header = parseCsvLine(line);
+                continue;
+            }
+            try {
+                Map<String, String> fields = format == Format.CSV
+                    ? toFields(header, parseCsvLine(line))
+                    : toFields(new JSONObject(line));
+                run.chunk.add(toRow(lineNumber, fields));
+            } catch (IllegalArgumentException | JSONException e) {
+                run.reject(lineNumber, null, e.getMessage());
+            }
+            if (run.chunk.size() >= chunkSize) {
+                flush(run);
+            }
+        }
+        flush(run);
+
+        return BulkImportResult.builder()
+            .imported(run.imported)
+            .failed(run.failed)
+            .elapsedMillis((System.nanoTime() - started) / 1_000_000)
+            .errors(run.errors)
+            .errorsTruncated(run.failed > run.errors.size())
+            .build();
+    }
+
+    private void flush(ImportRun run) {
+        if (run.chunk.isEmpty()) {
+            return;
+        }
+        List<PendingRow> chunk = run.chunk;
+        run.chunk = new ArrayList<>(chunkSize);
+
+        // Earlier chunks are already committed, so this also catches repeats across the file
+        Set<String> seen = new HashSet<>(bikeRepository.findExistingRegistrationNumbers(
+            chunk.stream().map(PendingRow::registrationNumber).toList()));
+        List<PendingRow> accepted = new ArrayList<>(chunk.size());
+        for (PendingRow row : chunk) {
+            if (!seen.add(row.registrationNumber())) {
+                run.reject(row.line(), row.registrationNumber(), "Registration number already exists");
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_SQL, accepted.stream().map(PendingRow::values).toList());
+                eventPublisher.publishEvent(new BikesImportedEvent(
+                    accepted.stream().map(PendingRow::id).toList()));
+            });
+            run.imported += accepted.size();
+        } catch (RuntimeException e) {
+            log.warn("Bulk import chunk of {} rows failed", accepted.size(), e);
+            for (PendingRow row : accepted) {
+                run.reject(row.line(), row.registrationNumber(), "Chunk insert failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private PendingRow toRow(long line, Map<String, String> fields) {
+        String model = required(fields, "model");
+        String brand = required(fields, "brand");
+        String registrationNumber = required(fields, "registrationNumber");
+        BigDecimal pricePerHour;
+        try {
+            pricePerHour = new BigDecimal(required(fields, "pricePerHour"));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("pricePerHour is not a number");
+        }
+        if (pricePerHour.signum() <= 0) {
+            throw new IllegalArgumentException("pricePerHour must be positive");
+        }
+
+        Double latitude = decimal(fields, "latitude");
+        Double longitude = decimal(fields, "longitude");
+        if ((latitude != null || longitude != null) && !BikeGeoIndex.isValid(latitude, longitude)) {
+            throw new IllegalArgumentException("latitude and longitude must be set together and within range");
+        }
+
+        String id = UUID.randomUUID().toString();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Object[] values = {
+            id, model, brand, registrationNumber, pricePerHour, BikeStatus.READY.name(),
+            optional(fields, "currentLocation"), latitude, longitude, integer(fields, "mileage"),
+            optional(fields, "bikePhotoUrl"), optional(fields, "description"),
+            integer(fields, "yearOfManufacture"), optional(fields, "color"), now, now
+        };
+        return new PendingRow(line, id, registrationNumber, values);
+    }
+
+    private static String required(Map<String, String> fields, String name) {
+        String value = optional(fields, name);
+        if (value == null) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value;
+    }
+
+    private static String optional(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static Integer integer(Map<String, String> fields, String name) {
+        String value = optional(fields, name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not a whole number");
+        }
+    }
+
+    private static Double decimal(Map<String, String> fields, String name) {
+        String value = optional(fields, name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not a number");
+        }
+    }
+
+    private static Map<String, String> toFields(String[] header, String[] values) {
+        if (values.length != header.length) {
+            throw new IllegalArgumentException("Expected " + header.length + " columns but found " + values.length);
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            fields.put(header[i].trim(), values[i]);
+        }
+        return fields;
+    }
+
+    private static Map<String, String> toFields(JSONObject json) {
+        Map<String, String> fields = new HashMap<>();
+        for (String key : json.keySet()) {
+            fields.put(key, json.isNull(key) ? null : String.valueOf(json.get(key)));
+        }
+        return fields;
+    }
+
+    // RFC 4180 fields on a single line: quoted fields, "" as an escaped quote
+    static String[] parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        values.add(field.toString());
+        return values.toArray(new String[0]);
+    }
+
+    private record PendingRow(long line, String id, String registrationNumber, Object[] values) {
+    }
+
+    private final class ImportRun {
+        private List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        private final List<BulkImportResult.RowError> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        void reject(long line, String registrationNumber, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new BulkImportResult.RowError(line, registrationNumber, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.bikerental.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bikerental.backend.entity.BikeEntity;
+import com.bikerental.backend.event.BikeChangedEvent;
+import com.bikerental.backend.event.BikesImportedEvent;
+import com.bikerental.backend.repository.BikeRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over bike text fields. Query tokens match whole
+ * terms, term prefixes and, failing both, similar terms by trigram overlap.
+ * All query tokens must match; results are ranked by summed field weight.
+ */
+@Component
+@Slf4j
+public class BikeSearchIndex {
+
+    private static final float MODEL_WEIGHT = 3.0f;
+    private static final float BRAND_WEIGHT = 3.0f;
+    private static final float REGISTRATION_WEIGHT = 2.5f;
+    private static final float COLOR_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    private static final float PREFIX_FACTOR = 0.7f;
+    private static final float FUZZY_FACTOR = 0.5f;
+    private static final double MIN_SIMILARITY = 0.3;
+    private static final int MIN_FUZZY_LENGTH = 3;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Serializes re-read and apply per event, so a slower listener holding an older row
+    // cannot overwrite a newer one; searches only wait for the brief structure update
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final TreeMap<String, Map<String, Float>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+    private final Map<String, Map<String, Float>> termsByBike = new HashMap<>();
+
+    @PostConstruct
+    public void load() {
+        List<BikeEntity> bikes = bikeRepository.findAll();
+        bikes.forEach(this::index);
+        log.info("Indexed {} bikes ({} terms) for search", bikes.size(), postings.size());
+    }
+
+    // Runs before the catalog cache is cleared so reloaded pages see the new terms
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBikeChanged(BikeChangedEvent event) {
+        refreshLock.lock();
+        try {
+            if (event.isDeleted()) {
+                remove(event.getBikeId());
+                return;
+            }
+            bikeRepository.findById(event.getBikeId())
+                .ifPresentOrElse(this::index, () -> remove(event.getBikeId()));
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBikesImported(BikesImportedEvent event) {
+        refreshLock.lock();
+        try {
+            bikeRepository.findAllById(event.getBikeIds()).forEach(this::index);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    public void index(BikeEntity bike) {
+        Map<String, Float> terms = new HashMap<>();
+        addField(terms, bike.getModel(), MODEL_WEIGHT);
+        addField(terms, bike.getBrand(), BRAND_WEIGHT);
+        addField(terms, bike.getRegistrationNumber(), REGISTRATION_WEIGHT);
+        addField(terms, bike.getColor(), COLOR_WEIGHT);
+        addField(terms, bike.getDescription(), DESCRIPTION_WEIGHT);
+        if (bike.getRegistrationNumber() != null) {
+            // "TS 09 AB 1234" is also searchable as "ts09ab1234"
+            String compact = String.join("", tokenize(bike.getRegistrationNumber()));
+            terms.merge(compact, REGISTRATION_WEIGHT, Math::max);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(bike.getId());
+            terms.forEach((term, weight) -> postings.computeIfAbsent(term, this::newPostingList)
+                .put(bike.getId(), weight));
+            termsByBike.put(bike.getId(), terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String bikeId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(bikeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns matching bike ids, best match first.
+     */
+    public List<String> search(String query) {
+        Set<String> tokens = new LinkedHashSet<>(tokenize(query));
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Float> scores = null;
+        lock.readLock().lock();
+        try {
+            for (String token : tokens) {
+                Map<String, Float> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((bikeId, score) -> score + tokenScores.get(bikeId));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Map.Entry<String, Float>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<String, Float>comparingByValue(Comparator.reverseOrder())
+            .thenComparing(Map.Entry.comparingByKey()));
+        List<String> bikeIds = new ArrayList<>(ranked.size());
+        ranked.forEach(entry -> bikeIds.add(entry.getKey()));
+        return bikeIds;
+    }
+
+    private Map<String, Float> scoreToken(String token) {
+        Map<String, Float> scores = new HashMap<>();
+        for (Map.Entry<String, Map<String, Float>> entry
+                : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            float factor = entry.getKey().equals(token) ? 1.0f : PREFIX_FACTOR;
+            accumulate(scores, entry.getValue(), factor);
+        }
+        if (scores.isEmpty() && token.length() >= MIN_FUZZY_LENGTH) {
+            Set<String> grams = trigrams(token);
+            Map<String, Integer> shared = new HashMap<>();
+            for (String gram : grams) {
+                for (String term : termsByTrigram.getOrDefault(gram, Set.of())) {
+                    shared.merge(term, 1, Integer::sum);
+                }
+            }
+            shared.forEach((term, common) -> {
+                double similarity = (double) common / (grams.size() + trigrams(term).size() - common);
+                if (similarity >= MIN_SIMILARITY) {
+                    accumulate(scores, postings.get(term), (float) (FUZZY_FACTOR * similarity));
+                }
+            });
+        }
+        return scores;
+    }
+
+    private static void accumulate(Map<String, Float> scores, Map<String, Float> postingList, float factor) {
+        postingList.forEach((bikeId, weight) -> scores.merge(bikeId, weight * factor, Math::max));
+    }
+
+    private Map<String, Float> newPostingList(String term) {
+        for (String gram : trigrams(term)) {
+            termsByTrigram.computeIfAbsent(gram, g -> new HashSet<>()).add(term);
+        }
+        return new HashMap<>();
+    }
+
+    private void removeUnlocked(String bikeId) {
+        Map<String, Float> terms = termsByBike.remove(bikeId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<String, Float> postingList = postings.get(term);
+            postingList.remove(bikeId);
+            if (postingList.isEmpty()) {
+                postings.remove(term);
+                for (String gram : trigrams(term)) {
+                    Set<String> gramTerms = termsByTrigram.get(gram);
+                    gramTerms.remove(term);
+                    if (gramTerms.isEmpty()) {
+                        termsByTrigram.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void addField(Map<String, Float> terms, String value, float weight) {
+        if (value == null) {
+            return;
+        }
+        for (String term : tokenize(value)) {
+            terms.merge(term, weight, Math::max);
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static Set<String> trigrams(String term) {
+        String padded = "$" + term + "$";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+}
@@ -1,45 +1,154 @@
 package com.bikerental.backend.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.bikerental.backend.dto.BikeDTO;
+import com.bikerental.backend.dto.CursorPage;
+import com.bikerental.backend.dto.NearbyBikeDTO;
+import com.bikerental.backend.dto.PageCursor;
 import com.bikerental.backend.entity.BikeEntity;
 import com.bikerental.backend.entity.BikeStatus;
+import com.bikerental.backend.event.BikeChangedEvent;
 import com.bikerental.backend.repository.BikeRepository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @Slf4j
 @Transactional
+@Timed(value = "bikerental.service", percentiles = {0.5, 0.99}, histogram = true)
 public class BikeService {
 
+    private static final Set<BikeStatus> BOOKABLE_STATUSES = EnumSet.of(BikeStatus.READY, BikeStatus.IN_PROCESS);
+
     @Autowired
     private BikeRepository bikeRepository;
 
+    @Autowired
+    private BikeCatalogCache catalogCache;
+
+    @Autowired
+    private BikeSearchIndex searchIndex;
+
+    @Autowired
+    private BikeGeoIndex geoIndex;
+
+    @Autowired
+    private BikeCatalogSnapshot catalogSnapshot;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.geo.max-radius-meters:50000}")
+    private double maxRadiusMeters;
+
+    @Value("${app.geo.max-results:100}")
+    private int maxNearbyResults;
+
     public Page<BikeDTO> getAvailableBikes(Pageable pageable) {
-        return bikeRepository.findByStatus(BikeStatus.READY, pageable)
-            .map(this::mapBikeToDTO);
+        return catalogCache.get(Arrays.asList("available", pageable), () ->
+            bikeRepository.findByStatus(BikeStatus.READY, pageable)
+                .map(BikeService::mapBikeToDTO));
+    }
+
+    public CursorPage<BikeDTO> getAvailableBikes(String cursor, int size) {
+        if (size < 1) {
+            throw new RuntimeException("Page size must be at least 1");
+        }
+        PageCursor after = PageCursor.decode(cursor);
+        Limit limit = Limit.of(size + 1);
+        List<BikeEntity> rows = after == null
+            ? bikeRepository.findByStatusOrderByCreatedAtDescIdDesc(BikeStatus.READY, limit)
+            : bikeRepository.findPageByStatusAfter(BikeStatus.READY, after.getCreatedAt(), after.getId(), limit);
+        return CursorPage.of(rows, size, BikeEntity::getCreatedAt, BikeEntity::getId, BikeService::mapBikeToDTO);
+    }
+
+    public Page<BikeDTO> getAvailableBikesBetween(LocalDateTime from, LocalDateTime to,
+                                                  String location, Pageable pageable) {
+        if (!to.isAfter(from)) {
+            throw new RuntimeException("End time must be after start time");
+        }
+        return bikeRepository.findAvailableBetween(from, to, location, BOOKABLE_STATUSES,
+                BikeAvailabilityIndex.LIVE_STATUSES, pageable)
+            .map(BikeService::mapBikeToDTO);
     }
 
     public Page<BikeDTO> searchBikes(String searchTerm, Pageable pageable) {
-        return bikeRepository.findByModelContainingIgnoreCaseOrBrandContainingIgnoreCase(
-            searchTerm, searchTerm, pageable)
-            .map(this::mapBikeToDTO);
+        return catalogCache.get(Arrays.asList("search", searchTerm, pageable), () -> {
+            List<String> ranked = searchIndex.search(searchTerm);
+            int from = (int) Math.min(pageable.getOffset(), ranked.size());
+            int to = Math.min(from + pageable.getPageSize(), ranked.size());
+            List<String> pageIds = ranked.subList(from, to);
+
+            Map<String, BikeEntity> bikes = bikeRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(BikeEntity::getId, Function.identity()));
+            List<BikeDTO> content = pageIds.stream()
+                .map(bikes::get)
+                .filter(Objects::nonNull)
+                .map(BikeService::mapBikeToDTO)
+                .toList();
+            return new PageImpl<>(content, pageable, ranked.size());
+        });
+    }
+
+    // Served from the geo index and catalog snapshot; no connection is taken
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<NearbyBikeDTO> findNearbyBikes(double latitude, double longitude, double radiusMeters, int limit) {
+        if (!BikeGeoIndex.isValid(latitude, longitude)) {
+            throw new RuntimeException("Latitude must be within [-90, 90] and longitude within [-180, 180]");
+        }
+        // Written so NaN, which fails every comparison, is rejected too
+        if (!(radiusMeters > 0 && radiusMeters <= maxRadiusMeters)) {
+            throw new RuntimeException("Radius must be between 0 and " + (long) maxRadiusMeters + " meters");
+        }
+        if (limit < 1 || limit > maxNearbyResults) {
+            throw new RuntimeException("Limit must be between 1 and " + maxNearbyResults);
+        }
+
+        Map<String, BikeDTO> bikes = catalogSnapshot.current().byId();
+        List<NearbyBikeDTO> nearby = new ArrayList<>(limit);
+        for (BikeGeoIndex.Hit hit : geoIndex.nearest(latitude, longitude, radiusMeters, limit)) {
+            BikeDTO bike = bikes.get(hit.bikeId());
+            // The snapshot may lag the index by one event; only report bikes both agree are READY
+            if (bike != null && bike.getStatus() == BikeStatus.READY) {
+                nearby.add(new NearbyBikeDTO(bike, hit.distanceMeters()));
+            }
+        }
+        return nearby;
     }
 
     public Page<BikeDTO> filterByBrand(String brand, Pageable pageable) {
-        return bikeRepository.findByBrand(brand, pageable)
-            .map(this::mapBikeToDTO);
+        return catalogCache.get(Arrays.asList("brand", brand, pageable), () ->
+            bikeRepository.findByBrand(brand, pageable)
+                .map(BikeService::mapBikeToDTO));
     }
 
     public BikeDTO getBikeById(String bikeId) {
-        BikeEntity bike = bikeRepository.findById(bikeId)
-            .orElseThrow(() -> new RuntimeException("Bike not found"));
-        return mapBikeToDTO(bike);
+        return catalogCache.get(Arrays.asList("bike", bikeId), () -> {
+            BikeEntity bike = bikeRepository.findById(bikeId)
+                .orElseThrow(() -> new RuntimeException("Bike not found"));
+            return mapBikeToDTO(bike);
+        });
     }
 
     public BikeDTO createBike(BikeDTO bikeDTO) {
@@ -50,10 +159,14 @@ public class BikeService {
             .pricePerHour(bikeDTO.getPricePerHour())
             .status(BikeStatus.READY)
             .currentLocation(bikeDTO.getCurrentLocation())
+            .latitude(bikeDTO.getLatitude())
+            .longitude(bikeDTO.getLongitude())
             .mileage(bikeDTO.getMileage())
             .build();
+        validateCoordinates(bike);
 
         bike = bikeRepository.save(bike);
+        publishChange(bike, false);
         return mapBikeToDTO(bike);
     }
 
@@ -66,9 +179,13 @@ public class BikeService {
         if (bikeDTO.getPricePerHour() != null) bike.setPricePerHour(bikeDTO.getPricePerHour());
         if (bikeDTO.getStatus() != null) bike.setStatus(bikeDTO.getStatus());
         if (bikeDTO.getCurrentLocation() != null) bike.setCurrentLocation(bikeDTO.getCurrentLocation());
+        if (bikeDTO.getLatitude() != null) bike.setLatitude(bikeDTO.getLatitude());
+        if (bikeDTO.getLongitude() != null) bike.setLongitude(bikeDTO.getLongitude());
         if (bikeDTO.getMileage() != null) bike.setMileage(bikeDTO.getMileage());
+        validateCoordinates(bike);
 
         bike = bikeRepository.save(bike);
+        publishChange(bike, false);
         return mapBikeToDTO(bike);
     }
 
@@ -76,9 +193,22 @@ public class BikeService {
         BikeEntity bike = bikeRepository.findById(bikeId)
             .orElseThrow(() -> new RuntimeException("Bike not found"));
         bikeRepository.delete(bike);
+        publishChange(bike, true);
+    }
+
+    private static void validateCoordinates(BikeEntity bike) {
+        if ((bike.getLatitude() != null || bike.getLongitude() != null)
+                && !BikeGeoIndex.isValid(bike.getLatitude(), bike.getLongitude())) {
+            throw new RuntimeException("Latitude and longitude must be set together and within range");
+        }
+    }
+
+    private void publishChange(BikeEntity bike, boolean deleted) {
+        eventPublisher.publishEvent(
+            new BikeChangedEvent(bike.getId(), bike.getStatus(), bike.getCurrentLocation(), deleted));
     }
 
-    private BikeDTO mapBikeToDTO(BikeEntity bike) {
+    static BikeDTO mapBikeToDTO(BikeEntity bike) {
         return BikeDTO.builder()
             .id(bike.getId())
             .model(bike.getModel())
@@ -87,6 +217,8 @@ public class BikeService {
             .pricePerHour(bike.getPricePerHour())
             .status(bike.getStatus())
             .currentLocation(bike.getCurrentLocation())
+            .latitude(bike.getLatitude())
+            .longitude(bike.getLongitude())
             .mileage(bike.getMileage())
             .bikePhotoUrl(bike.getBikePhotoUrl())
             .description(bike.getDescription())
@@ -0,0 +1,114 @@
+package com.bikerental.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import com.bikerental.backend.dto.BikeDTO;
+import com.bikerental.backend.dto.BikeStatusDelta;
+import com.bikerental.backend.entity.BikeEntity;
+import com.bikerental.backend.event.BikeChangedEvent;
+import com.bikerental.backend.event.BikesImportedEvent;
+import com.bikerental.backend.repository.BikeRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Live feed of committed bike status and location changes, including bikes
+ * added by a bulk import. Each subscriber
+ * gets its own bounded buffer that drops the oldest deltas when the client
+ * falls behind, so a slow consumer costs at most buffer-size deltas.
+ */
+@Component
+@Slf4j
+public class BikeStatusStream {
+
+    @Autowired
+    private BikeCatalogSnapshot catalogSnapshot;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Value("${app.stream.buffer-size:256}")
+    private int bufferSize;
+
+    private final Sinks.Many<BikeStatusDelta> sink = Sinks.many().multicast().directBestEffort();
+    private final ReentrantLock emitLock = new ReentrantLock();
+    private long sequence;
+
+    public Flux<BikeStatusDelta> subscribe(String location) {
+        Flux<BikeStatusDelta> deltas = sink.asFlux();
+        if (location != null) {
+            String key = BikeCatalogSnapshot.Snapshot.key(location);
+            deltas = deltas.filter(delta -> matches(delta.getCurrentLocation(), key)
+                || matches(delta.getPreviousLocation(), key));
+        }
+        return deltas.onBackpressureBuffer(bufferSize,
+            dropped -> log.debug("Dropped bike delta {} for a slow subscriber", dropped.getSequence()),
+            BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    // Runs before BikeCatalogSnapshot swaps, so the snapshot still has the previous location
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBikeChanged(BikeChangedEvent event) {
+        BikeDTO before = catalogSnapshot.current().byId().get(event.getBikeId());
+        String previousLocation = before == null || Objects.equals(before.getCurrentLocation(),
+            event.getCurrentLocation()) ? null : before.getCurrentLocation();
+
+        emit(List.of(BikeStatusDelta.builder()
+            .bikeId(event.getBikeId())
+            .status(event.getStatus())
+            .currentLocation(event.getCurrentLocation())
+            .previousLocation(previousLocation)
+            .deleted(event.isDeleted())
+            .build()));
+    }
+
+    // Imported bikes are new, so there is no previous location to report
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBikesImported(BikesImportedEvent event) {
+        List<BikeStatusDelta> deltas = bikeRepository.findAllById(event.getBikeIds()).stream()
+            .map(BikeStatusStream::delta)
+            .toList();
+        emit(deltas);
+    }
+
+    private void emit(List<BikeStatusDelta> deltas) {
+        LocalDateTime changedAt = LocalDateTime.now();
+        // Sinks reject concurrent emits; commits on different threads take turns
+        emitLock.lock();
+        try {
+            for (BikeStatusDelta delta : deltas) {
+                delta.setSequence(++sequence);
+                delta.setChangedAt(changedAt);
+                sink.tryEmitNext(delta);
+            }
+        } finally {
+            emitLock.unlock();
+        }
+    }
+
+    private static BikeStatusDelta delta(BikeEntity bike) {
+        return BikeStatusDelta.builder()
+            .bikeId(bike.getId())
+            .status(bike.getStatus())
+            .currentLocation(bike.getCurrentLocation())
+            .build();
+    }
+
+    private static boolean matches(String location, String key) {
+        return location != null && BikeCatalogSnapshot.Snapshot.key(location).equals(key);
+    }
+}
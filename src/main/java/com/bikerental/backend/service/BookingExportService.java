@@ -0,0 +1,113 @@
+package com.bikerental.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bikerental.backend.dto.BookingExportRow;
+import com.bikerental.backend.repository.BookingRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams bookings joined with their payments straight to an output stream.
+ * Rows are projected to DTOs and written one at a time, so heap use stays
+ * flat regardless of how many rows are exported.
+ */
+@Service
+@Slf4j
+public class BookingExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final String[] COLUMNS = {
+        "bookingId", "userId", "bikeId", "bikeRegistrationNumber", "startTime", "endTime",
+        "totalAmount", "status", "pickupLocation", "dropoffLocation", "createdAt",
+        "razorpayOrderId", "razorpayPaymentId", "paymentAmount", "paymentStatus", "paymentCompletedAt"
+    };
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Transactional(readOnly = true)
+    public long exportBookings(OutputStream out, Format format, LocalDateTime from, LocalDateTime to)
+        throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == Format.CSV) {
+            writer.write(String.join(",", COLUMNS));
+            writer.write('\n');
+        }
+
+        long rows = 0;
+        try (Stream<BookingExportRow> stream = bookingRepository.streamExportRows(from, to)) {
+            Iterator<BookingExportRow> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                Object[] values = values(iterator.next());
+                if (format == Format.CSV) {
+                    writeCsv(writer, values);
+                } else {
+                    writeJson(writer, values);
+                }
+                rows++;
+            }
+        }
+        writer.flush();
+        log.info("Exported {} bookings as {}", rows, format);
+        return rows;
+    }
+
+    private static Object[] values(BookingExportRow row) {
+        return new Object[] {
+            row.getBookingId(), row.getUserId(), row.getBikeId(), row.getBikeRegistrationNumber(),
+            row.getStartTime(), row.getEndTime(), row.getTotalAmount(), row.getStatus(),
+            row.getPickupLocation(), row.getDropoffLocation(), row.getCreatedAt(),
+            row.getRazorpayOrderId(), row.getRazorpayPaymentId(), row.getPaymentAmount(),
+            row.getPaymentStatus(), row.getPaymentCompletedAt()
+        };
+    }
+
+    private static void writeCsv(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) writer.write(',');
+            if (values[i] == null) continue;
+            String value = values[i].toString();
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static void writeJson(Writer writer, Object[] values) throws IOException {
+        writer.write('{');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) writer.write(',');
+            writer.write(JSONObject.quote(COLUMNS[i]));
+            writer.write(':');
+            Object value = values[i];
+            if (value == null) {
+                writer.write("null");
+            } else if (value instanceof Number) {
+                writer.write(value.toString());
+            } else {
+                writer.write(JSONObject.quote(value.toString()));
+            }
+        }
+        writer.write("}\n");
+    }
+}
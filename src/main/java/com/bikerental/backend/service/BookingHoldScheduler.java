@@ -0,0 +1,144 @@
+package com.bikerental.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bikerental.backend.dto.BookingHoldDTO;
+import com.bikerental.backend.entity.BookingStatus;
+import com.bikerental.backend.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expires unpaid PENDING bookings once their payment hold runs out. Deadlines
+ * live in a TimingWheel: registered when a booking commits, removed when it is
+ * paid, completed or cancelled, and reloaded from PENDING bookings at startup.
+ */
+@Component
+@Slf4j
+public class BookingHoldScheduler {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    // Lazy: BookingService itself schedules holds here
+    @Autowired
+    @Lazy
+    private BookingService bookingService;
+
+    @Value("${app.booking.hold-timeout:15m}")
+    private Duration holdTimeout;
+
+    @Value("${app.booking.hold-expiry.tick:1s}")
+    private Duration tick;
+
+    @Value("${app.booking.hold-expiry.batch-size:200}")
+    private int batchSize;
+
+    // How soon a hold whose expiry failed (e.g. the database was unreachable) is tried again
+    @Value("${app.booking.hold-expiry.retry-delay:30s}")
+    private Duration retryDelay;
+
+    private TimingWheel wheel;
+    private ScheduledExecutorService ticker;
+
+    @PostConstruct
+    public void start() {
+        // 64 one-second slots, then 64 minutes, then ~3 days, then ~6 months
+        wheel = new TimingWheel(tick.toMillis(), 64, 4, System.currentTimeMillis());
+        List<BookingHoldDTO> pending = bookingRepository.findHoldsByStatus(BookingStatus.PENDING);
+        for (BookingHoldDTO hold : pending) {
+            wheel.schedule(hold.getBookingId(), deadline(hold.getCreatedAt()));
+        }
+        log.info("Scheduled hold expiry for {} pending bookings", pending.size());
+
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "booking-hold-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(this::expireDue, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * Starts the hold clock for a new booking once its transaction commits.
+     */
+    public void holdAfterCommit(String bookingId, LocalDateTime createdAt) {
+        long deadline = deadline(createdAt);
+        afterCommit(() -> wheel.schedule(bookingId, deadline));
+    }
+
+    /**
+     * Stops the hold clock once the paying, completing or cancelling
+     * transaction commits; a rollback leaves the hold running.
+     */
+    public void releaseAfterCommit(String bookingId) {
+        afterCommit(() -> wheel.cancel(bookingId));
+    }
+
+    int pendingHolds() {
+        return wheel.size();
+    }
+
+    void expireDue() {
+        List<String> expired = wheel.advance(System.currentTimeMillis());
+        for (int from = 0; from < expired.size(); from += batchSize) {
+            List<String> batch = expired.subList(from, Math.min(from + batchSize, expired.size()));
+            try {
+                int cancelled = bookingService.expireHolds(batch);
+                log.info("Expired {} unpaid bookings ({} were no longer pending)", cancelled, batch.size() - cancelled);
+            } catch (RuntimeException e) {
+                log.warn("Expiring {} booking holds failed, retrying them one by one", batch.size(), e);
+                expireOneByOne(batch);
+            }
+        }
+    }
+
+    // The ids have left the wheel already, so any that still fail go back on it
+    private void expireOneByOne(List<String> batch) {
+        long retryAt = System.currentTimeMillis() + retryDelay.toMillis();
+        for (String bookingId : batch) {
+            try {
+                bookingService.expireHolds(List.of(bookingId));
+            } catch (RuntimeException e) {
+                log.error("Failed to expire hold for booking {}, retrying in {}", bookingId, retryDelay, e);
+                wheel.schedule(bookingId, retryAt);
+            }
+        }
+    }
+
+    private long deadline(LocalDateTime createdAt) {
+        return createdAt.atZone(ZoneId.systemDefault()).toInstant().plus(holdTimeout).toEpochMilli();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,33 +1,55 @@
 package com.bikerental.backend.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.bikerental.backend.dto.BikeDTO;
 import com.bikerental.backend.dto.BookingDTO;
 import com.bikerental.backend.dto.CreateBookingRequest;
+import com.bikerental.backend.dto.CursorPage;
+import com.bikerental.backend.dto.PageCursor;
+import com.bikerental.backend.dto.PriceQuote;
+import com.bikerental.backend.dto.QuoteRequest;
 import com.bikerental.backend.entity.BikeEntity;
 import com.bikerental.backend.entity.BikeStatus;
 import com.bikerental.backend.entity.BookingEntity;
 import com.bikerental.backend.entity.BookingStatus;
 import com.bikerental.backend.entity.UserEntity;
 import com.bikerental.backend.entity.VerificationStatus;
+import com.bikerental.backend.event.BikeChangedEvent;
 import com.bikerental.backend.repository.BikeRepository;
 import com.bikerental.backend.repository.BookingRepository;
 import com.bikerental.backend.repository.UserRepository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 @Slf4j
 @Transactional
+@Timed(value = "bikerental.service", percentiles = {0.5, 0.99}, histogram = true)
 public class BookingService {
 
+    private static final List<String> LIVE_STATUS_NAMES =
+        BikeAvailabilityIndex.LIVE_STATUSES.stream().map(Enum::name).toList();
+
     @Autowired
     private BookingRepository bookingRepository;
 
@@ -37,6 +59,30 @@ public class BookingService {
     @Autowired
     private BikeRepository bikeRepository;
 
+    @Autowired
+    private BikeAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private BackendMetrics metrics;
+
+    @Autowired
+    private FleetStatsService fleetStats;
+
+    @Autowired
+    private BookingHoldScheduler holdScheduler;
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private BikeCatalogSnapshot catalogSnapshot;
+
+    @Value("${app.pricing.max-quote-bikes:500}")
+    private int maxQuoteBikes;
+
     public BookingDTO createBooking(String userId, CreateBookingRequest request) {
         // Validate user
         UserEntity user = userRepository.findById(userId)
@@ -48,23 +94,35 @@ public class BookingService {
             throw new RuntimeException("User verification required to book bike");
         }
 
-        // Validate bike
-        BikeEntity bike = bikeRepository.findById(request.getBikeId())
+        // Validate time
+        if (!request.getEndTime().isAfter(request.getStartTime())) {
+            throw new RuntimeException("End time must be after start time");
+        }
+
+        // Cheap in-memory rejection before taking any lock
+        if (!availabilityIndex.isAvailable(request.getBikeId(), request.getStartTime(), request.getEndTime())) {
+            throw new RuntimeException("Bike is already booked for the selected time slot");
+        }
+
+        // Validate bike; the row lock is held until commit
+        BikeEntity bike = bikeRepository.findByIdForUpdate(request.getBikeId())
             .orElseThrow(() -> new RuntimeException("Bike not found"));
 
-        if (!bike.getStatus().equals(BikeStatus.READY)) {
+        if (bike.getStatus() != BikeStatus.READY && bike.getStatus() != BikeStatus.IN_PROCESS) {
             throw new RuntimeException("Bike is not available for booking");
         }
 
-        // Validate time
-        if (request.getEndTime().isBefore(request.getStartTime())) {
-            throw new RuntimeException("End time must be after start time");
+        // Authoritative check, covers bookings made by other instances; a locking read, so it is
+        // not limited to the read view opened by the user lookup above
+        if (bookingRepository.countOverlappingBookings(bike.getId(), request.getStartTime(),
+                request.getEndTime(), LIVE_STATUS_NAMES) > 0) {
+            throw new RuntimeException("Bike is already booked for the selected time slot");
         }
 
         // Calculate total amount
-        long hours = ChronoUnit.HOURS.between(request.getStartTime(), request.getEndTime());
-        if (hours == 0) hours = 1; // Minimum 1 hour
-        BigDecimal totalAmount = bike.getPricePerHour().multiply(BigDecimal.valueOf(hours));
+        PriceQuote quote = pricingEngine.quote(bike.getId(), PricingEngine.toPaise(bike.getPricePerHour()),
+            bike.getCurrentLocation(), request.getStartTime(), request.getEndTime(), request.getPromoCode());
+        BigDecimal totalAmount = PricingEngine.toRupees(quote.getTotalAmount());
 
         // Create booking
         BookingEntity booking = BookingEntity.builder()
@@ -79,41 +137,104 @@ public class BookingService {
             .build();
 
         booking = bookingRepository.save(booking);
+        metrics.bookingTransition(null, booking.getStatus());
+        fleetStats.bookingTransition(booking, null, booking.getStatus());
+
+        // Reserve the slot; released again if the transaction rolls back
+        String bookingId = booking.getId();
+        if (!availabilityIndex.tryReserve(bookingId, bike.getId(),
+                booking.getStartTime(), booking.getEndTime())) {
+            throw new RuntimeException("Bike is already booked for the selected time slot");
+        }
+        afterCompletion(committed -> {
+            if (!committed) availabilityIndex.release(bookingId);
+        });
+        holdScheduler.holdAfterCommit(bookingId, booking.getCreatedAt());
 
         // Update bike status
         bike.setStatus(BikeStatus.IN_PROCESS);
         bikeRepository.save(bike);
+        publishBikeChange(bike);
 
         return mapBookingToDTO(booking);
     }
 
+    /**
+     * Prices each requested bike for one window, reading prices from the
+     * catalog snapshot. Unknown bike ids are left out of the result.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<PriceQuote> quoteBikes(QuoteRequest request) {
+        if (request.getBikeIds().size() > maxQuoteBikes) {
+            throw new RuntimeException("At most " + maxQuoteBikes + " bikes can be quoted at once");
+        }
+        PricingEngine.Window window = pricingEngine.window(request.getStartTime(), request.getEndTime());
+        Map<String, BikeDTO> bikes = catalogSnapshot.current().byId();
+        List<PriceQuote> quotes = new ArrayList<>(request.getBikeIds().size());
+        for (String bikeId : request.getBikeIds()) {
+            BikeDTO bike = bikes.get(bikeId);
+            if (bike != null && bike.getPricePerHour() != null) {
+                quotes.add(pricingEngine.quote(window, bikeId, PricingEngine.toPaise(bike.getPricePerHour()),
+                    bike.getCurrentLocation(), request.getPromoCode()));
+            }
+        }
+        return quotes;
+    }
+
     public Page<BookingDTO> getBookingsByUser(String userId, Pageable pageable) {
-        return bookingRepository.findByUserId(userId, pageable)
-            .map(this::mapBookingToDTO);
+        return bookingRepository.findDTOsByUserId(userId, pageable);
     }
 
     public Page<BookingDTO> getAllBookings(Pageable pageable) {
-        return bookingRepository.findAll(pageable)
-            .map(this::mapBookingToDTO);
+        return bookingRepository.findAllDTOs(pageable);
+    }
+
+    public CursorPage<BookingDTO> getBookingsByUser(String userId, String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Limit limit = cursorLimit(size);
+        List<BookingDTO> rows = after == null
+            ? bookingRepository.findFirstDTOsByUserId(userId, limit)
+            : bookingRepository.findDTOsByUserIdAfter(userId, after.getCreatedAt(), after.getId(), limit);
+        return CursorPage.of(rows, size, BookingDTO::getCreatedAt, BookingDTO::getId, Function.identity());
+    }
+
+    public CursorPage<BookingDTO> getAllBookings(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Limit limit = cursorLimit(size);
+        List<BookingDTO> rows = after == null
+            ? bookingRepository.findFirstDTOs(limit)
+            : bookingRepository.findDTOsAfter(after.getCreatedAt(), after.getId(), limit);
+        return CursorPage.of(rows, size, BookingDTO::getCreatedAt, BookingDTO::getId, Function.identity());
     }
 
     public BookingDTO getBookingById(String bookingId) {
-        BookingEntity booking = bookingRepository.findById(bookingId)
+        return bookingRepository.findDTOById(bookingId)
             .orElseThrow(() -> new RuntimeException("Booking not found"));
-        return mapBookingToDTO(booking);
     }
 
     public BookingDTO completeBooking(String bookingId) {
-        BookingEntity booking = bookingRepository.findById(bookingId)
+        // Locked like cancelBooking, so a hold expiring concurrently cannot be overwritten
+        BookingEntity booking = bookingRepository.findByIdForUpdate(bookingId)
             .orElseThrow(() -> new RuntimeException("Booking not found"));
 
+        BookingStatus previous = booking.getStatus();
+        if (!BikeAvailabilityIndex.LIVE_STATUSES.contains(previous)) {
+            throw new RuntimeException("Booking is " + previous + " and cannot be completed");
+        }
+        metrics.bookingTransition(previous, BookingStatus.COMPLETED);
+        fleetStats.bookingTransition(booking, previous, BookingStatus.COMPLETED);
         booking.setStatus(BookingStatus.COMPLETED);
         booking = bookingRepository.save(booking);
+        releaseSlot(booking);
+        holdScheduler.releaseAfterCommit(bookingId);
 
         // Update bike status
         BikeEntity bike = booking.getBike();
-        bike.setStatus(BikeStatus.READY);
-        bikeRepository.save(bike);
+        if (!availabilityIndex.hasLiveBookings(bike.getId())) {
+            bike.setStatus(BikeStatus.READY);
+            bikeRepository.save(bike);
+            publishBikeChange(bike);
+        }
 
         // Disable one-time physical verification
         UserEntity user = booking.getUser();
@@ -124,21 +245,89 @@ public class BookingService {
     }
 
     public BookingDTO cancelBooking(String bookingId) {
-        BookingEntity booking = bookingRepository.findById(bookingId)
+        BookingEntity booking = bookingRepository.findByIdForUpdate(bookingId)
             .orElseThrow(() -> new RuntimeException("Booking not found"));
 
+        cancel(booking);
+        holdScheduler.releaseAfterCommit(bookingId);
+
+        return mapBookingToDTO(booking);
+    }
+
+    /**
+     * Cancels the given bookings whose payment hold ran out. Bookings that were
+     * paid or cancelled in the meantime are left alone; the rows are locked so a
+     * payment confirming concurrently either wins or sees CANCELLED.
+     *
+     * @return the number of bookings cancelled
+     */
+    public int expireHolds(Collection<String> bookingIds) {
+        int cancelled = 0;
+        for (BookingEntity booking : bookingRepository.findAllByIdForUpdate(bookingIds)) {
+            if (booking.getStatus() == BookingStatus.PENDING) {
+                cancel(booking);
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    private Limit cursorLimit(int size) {
+        if (size < 1) {
+            throw new RuntimeException("Page size must be at least 1");
+        }
+        // One extra row tells us whether there is a next page
+        return Limit.of(size + 1);
+    }
+
+    private void cancel(BookingEntity booking) {
+        BookingStatus previous = booking.getStatus();
+        metrics.bookingTransition(previous, BookingStatus.CANCELLED);
+        fleetStats.bookingTransition(booking, previous, BookingStatus.CANCELLED);
         booking.setStatus(BookingStatus.CANCELLED);
-        booking = bookingRepository.save(booking);
+        bookingRepository.save(booking);
+        releaseSlot(booking);
 
         // Update bike status
         BikeEntity bike = booking.getBike();
-        bike.setStatus(BikeStatus.READY);
-        bikeRepository.save(bike);
+        if (!availabilityIndex.hasLiveBookings(bike.getId())) {
+            bike.setStatus(BikeStatus.READY);
+            bikeRepository.save(bike);
+            publishBikeChange(bike);
+        }
+    }
 
-        return mapBookingToDTO(booking);
+    private void publishBikeChange(BikeEntity bike) {
+        eventPublisher.publishEvent(
+            new BikeChangedEvent(bike.getId(), bike.getStatus(), bike.getCurrentLocation(), false));
+    }
+
+    private void releaseSlot(BookingEntity booking) {
+        // Freed immediately so the bike status check sees it; restored on rollback
+        String bookingId = booking.getId();
+        String bikeId = booking.getBike().getId();
+        LocalDateTime startTime = booking.getStartTime();
+        LocalDateTime endTime = booking.getEndTime();
+        availabilityIndex.release(bookingId);
+        afterCompletion(committed -> {
+            if (!committed) availabilityIndex.tryReserve(bookingId, bikeId, startTime, endTime);
+        });
+    }
+
+    private void afterCompletion(Consumer<Boolean> callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.accept(status == STATUS_COMMITTED);
+            }
+        });
     }
 
-    private BookingDTO mapBookingToDTO(BookingEntity booking) {
+    BookingDTO mapBookingToDTO(BookingEntity booking) {
         return BookingDTO.builder()
             .id(booking.getId())
             .userId(booking.getUser().getId())
@@ -0,0 +1,147 @@
+package com.bikerental.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bikerental.backend.dto.DailyStatsDTO;
+import com.bikerental.backend.entity.BikeDailyStatsEntity;
+import com.bikerental.backend.entity.BookingEntity;
+import com.bikerental.backend.entity.BookingStatus;
+import com.bikerental.backend.entity.LocationDailyStatsEntity;
+import com.bikerental.backend.repository.BikeDailyStatsRepository;
+import com.bikerental.backend.repository.LocationDailyStatsRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Daily utilization and revenue rollups per bike and per location. Booking and
+ * payment transitions apply increments inside their own transaction, so the
+ * rollups commit or roll back with them; dashboards read only these tables.
+ */
+@Service
+@Slf4j
+@Transactional
+public class FleetStatsService {
+
+    private static final int MAX_RANGE_DAYS = 366;
+
+    @Autowired
+    private BikeDailyStatsRepository bikeStatsRepository;
+
+    @Autowired
+    private LocationDailyStatsRepository locationStatsRepository;
+
+    /**
+     * Applies the difference between what the booking counted for in its
+     * previous status and what it counts for now, using the same rules as
+     * rebuildFromBookings. from is null for a new booking.
+     */
+    public void bookingTransition(BookingEntity booking, BookingStatus from, BookingStatus to) {
+        if (from == to) {
+            return;
+        }
+        long bookings = counted(to) - counted(from);
+        long completedRides = completed(to) - completed(from);
+        if (bookings != 0 || completedRides != 0) {
+            increment(booking, bookings, bookings * bookedHours(booking), completedRides, BigDecimal.ZERO);
+        }
+    }
+
+    public void paymentCaptured(BookingEntity booking, BigDecimal amount) {
+        increment(booking, 0, 0, 0, amount);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailyStatsDTO> getBikeStats(String bikeId, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        List<BikeDailyStatsEntity> rows = bikeId == null
+            ? bikeStatsRepository.findByDayBetweenOrderByDayAscBikeIdAsc(from, to)
+            : bikeStatsRepository.findByBikeIdAndDayBetweenOrderByDayAsc(bikeId, from, to);
+        return rows.stream()
+            .map(row -> DailyStatsDTO.builder()
+                .bikeId(row.getBikeId())
+                .day(row.getDay())
+                .bookings(row.getBookings())
+                .bookedHours(row.getBookedHours())
+                .completedRides(row.getCompletedRides())
+                .revenue(row.getRevenue())
+                .utilization(Math.min(1.0, row.getBookedHours() / 24.0))
+                .build())
+            .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailyStatsDTO> getLocationStats(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        List<LocationDailyStatsEntity> rows = locationStatsRepository.findByDayBetweenOrderByDayAscLocationAsc(from, to);
+        return rows.stream()
+            .map(row -> DailyStatsDTO.builder()
+                .location(row.getLocation())
+                .day(row.getDay())
+                .bookings(row.getBookings())
+                .bookedHours(row.getBookedHours())
+                .completedRides(row.getCompletedRides())
+                .revenue(row.getRevenue())
+                .build())
+            .toList();
+    }
+
+    /**
+     * Recomputes both rollups from bookings and payments in one transaction,
+     * for backfill or after a manual data fix. Scans the bookings table, so
+     * schedule it off-peak (app.rollups.rebuild-cron, disabled by default).
+     */
+    @Scheduled(cron = "${app.rollups.rebuild-cron:-}")
+    public void rebuild() {
+        bikeStatsRepository.deleteAllRows();
+        locationStatsRepository.deleteAllRows();
+        int bikeRows = bikeStatsRepository.rebuildFromBookings();
+        int locationRows = locationStatsRepository.rebuildFromBookings();
+        log.info("Rebuilt fleet rollups: {} bike-days, {} location-days", bikeRows, locationRows);
+    }
+
+    private void increment(BookingEntity booking, long bookings, long bookedHours, long completedRides,
+                           BigDecimal revenue) {
+        LocalDate day = booking.getStartTime().toLocalDate();
+        bikeStatsRepository.increment(booking.getBike().getId(), day, bookings, bookedHours, completedRides, revenue);
+        locationStatsRepository.increment(location(booking), day, bookings, bookedHours, completedRides, revenue);
+    }
+
+    // rebuildFromBookings counts every booking that is not cancelled
+    private static long counted(BookingStatus status) {
+        return status != null && status != BookingStatus.CANCELLED ? 1 : 0;
+    }
+
+    private static long completed(BookingStatus status) {
+        return status == BookingStatus.COMPLETED ? 1 : 0;
+    }
+
+    // Same fallback as the rebuild query
+    private static String location(BookingEntity booking) {
+        if (booking.getPickupLocation() != null) {
+            return booking.getPickupLocation();
+        }
+        String bikeLocation = booking.getBike().getCurrentLocation();
+        return bikeLocation != null ? bikeLocation : "UNKNOWN";
+    }
+
+    // Whole hours, at least one; rebuildFromBookings computes the same in SQL
+    private static long bookedHours(BookingEntity booking) {
+        return Math.max(1, ChronoUnit.HOURS.between(booking.getStartTime(), booking.getEndTime()));
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+            throw new RuntimeException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+}
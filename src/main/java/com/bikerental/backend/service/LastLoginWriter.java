@@ -0,0 +1,129 @@
+package com.bikerental.backend.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.bikerental.backend.entity.UserEntity;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind for users.last_login. Logins only record a timestamp per user;
+ * repeated logins before a flush coalesce into one row update, and flushes
+ * write all pending users in one JDBC batch. When max-pending users are
+ * waiting, the login that finds the buffer full flushes it first.
+ */
+@Component
+@Slf4j
+public class LastLoginWriter {
+
+    private static final String UPDATE_SQL =
+        "UPDATE users SET last_login = ? WHERE id = ? AND (last_login IS NULL OR last_login < ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.auth.last-login.max-pending:100000}")
+    private int maxPending;
+
+    @Value("${app.auth.last-login.batch-size:500}")
+    private int batchSize;
+
+    private final Map<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("bikerental.auth.last-login.pending", pending, Map::size)
+            .description("Users whose last login is not written yet")
+            .register(meterRegistry);
+    }
+
+    public void record(String userId, LocalDateTime loginTime) {
+        if (pending.size() >= maxPending && !pending.containsKey(userId)) {
+            flush();
+        }
+        pending.merge(userId, loginTime, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    // The newest of the stored value and one still waiting to be written
+    public LocalDateTime lastLogin(String userId, LocalDateTime stored) {
+        LocalDateTime buffered = pending.get(userId);
+        return buffered != null && (stored == null || buffered.isAfter(stored)) ? buffered : stored;
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.last-login.flush-interval:5s}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<Map.Entry<String, LocalDateTime>> batch = new ArrayList<>(Math.min(pending.size(), batchSize));
+            Iterator<Map.Entry<String, LocalDateTime>> entries = pending.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<String, LocalDateTime> entry = entries.next();
+                // Removed only if unchanged; a newer login stays for the next flush
+                if (pending.remove(entry.getKey(), entry.getValue())) {
+                    batch.add(Map.entry(entry.getKey(), entry.getValue()));
+                }
+                if (batch.size() == batchSize) {
+                    if (!write(batch)) {
+                        return;
+                    }
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        flush();
+    }
+
+    private boolean write(List<Map.Entry<String, LocalDateTime>> batch) {
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch.stream()
+                .map(entry -> {
+                    Timestamp loginTime = Timestamp.valueOf(entry.getValue());
+                    return new Object[]{loginTime, entry.getKey(), loginTime};
+                })
+                .toList());
+        } catch (DataAccessException e) {
+            // Kept for the next flush unless a newer login replaced it meanwhile
+            log.warn("Failed to write last login for {} users: {}", batch.size(), e.getMessage());
+            batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(),
+                (current, failed) -> current.isAfter(failed) ? current : failed));
+            return false;
+        }
+        // Written behind Hibernate's back, so cached users must be reloaded
+        batch.forEach(entry -> entityManagerFactory.getCache().evict(UserEntity.class, entry.getKey()));
+        return true;
+    }
+}
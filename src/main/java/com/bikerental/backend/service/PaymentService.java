@@ -9,26 +9,27 @@ import com.bikerental.backend.entity.PaymentEntity;
 import com.bikerental.backend.entity.PaymentStatus;
 import com.bikerental.backend.repository.BookingRepository;
 import com.bikerental.backend.repository.PaymentRepository;
-import com.razorpay.Order;
-import com.razorpay.RazorpayClient;
+import com.bikerental.backend.security.RazorpaySignatureVerifier;
 import com.razorpay.RazorpayException;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @Slf4j
 @Transactional
+@Timed(value = "bikerental.service", percentiles = {0.5, 0.99}, histogram = true)
 public class PaymentService {
 
     @Autowired
@@ -37,79 +38,155 @@ public class PaymentService {
     @Autowired
     private BookingRepository bookingRepository;
 
-    @Value("${razorpay.key.id}")
-    private String razorpayKeyId;
+    @Autowired
+    private RazorpayGateway razorpayGateway;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
 
-    @Value("${razorpay.key.secret}")
-    private String razorpayKeySecret;
+    @Autowired
+    private RazorpaySignatureVerifier signatureVerifier;
 
-    private RazorpayClient razorpayClient;
+    @Autowired
+    private BackendMetrics metrics;
 
     @Autowired
-    public void initRazorpayClient() {
-        try {
-            this.razorpayClient = new RazorpayClient(razorpayKeyId, razorpayKeySecret);
-        } catch (RazorpayException e) {
-            log.error("Failed to initialize Razorpay client", e);
+    private FleetStatsService fleetStats;
+
+    @Autowired
+    private BookingHoldScheduler holdScheduler;
+
+    @Value("${razorpay.intent.stale-after:5m}")
+    private Duration intentStaleAfter;
+
+    /**
+     * Creates the gateway order in three steps so no JDBC connection is held
+     * while Razorpay is called: record a PENDING intent, call the gateway, then
+     * record the order id.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CreateOrderResponse createOrder(String bookingId) {
+        OrderIntent intent = transactionTemplate.execute(status -> recordOrderIntent(bookingId));
+
+        String orderId = intent.existingOrderId();
+        if (orderId == null) {
+            try {
+                JSONObject orderRequest = new JSONObject();
+                orderRequest.put("amount", intent.amountInPaise());
+                orderRequest.put("currency", "INR");
+                orderRequest.put("receipt", "receipt#" + bookingId);
+
+                JSONObject notes = new JSONObject();
+                notes.put("bookingId", bookingId);
+                notes.put("userId", intent.userId());
+                notes.put("bikeId", intent.bikeId());
+                orderRequest.put("notes", notes);
+
+                orderId = razorpayGateway.createOrder(orderRequest);
+            } catch (RazorpayException | RuntimeException e) {
+                // Any failure must release the intent, or it blocks retries until it goes stale
+                log.error("Error creating Razorpay order", e);
+                metrics.paymentOutcome("order_failed");
+                transactionTemplate.executeWithoutResult(status ->
+                    markIntentFailed(intent.paymentId(), e.getMessage()));
+                throw new RuntimeException("Failed to create payment order");
+            }
+
+            String createdOrderId = orderId;
+            transactionTemplate.executeWithoutResult(status -> {
+                PaymentEntity payment = paymentRepository.findById(intent.paymentId())
+                    .orElseThrow(() -> new RuntimeException("Payment not found"));
+                payment.setRazorpayOrderId(createdOrderId);
+                paymentRepository.save(payment);
+            });
+            metrics.paymentOutcome("order_created");
+        } else {
+            metrics.paymentOutcome("order_reused");
         }
+
+        return CreateOrderResponse.builder()
+            .orderId(orderId)
+            .bookingId(bookingId)
+            .amount(intent.amountInPaise())
+            .currency("INR")
+            .keyId(razorpayGateway.getKeyId())
+            .success(true)
+            .message("Order created successfully")
+            .build();
     }
 
-    public CreateOrderResponse createOrder(String bookingId) {
+    private OrderIntent recordOrderIntent(String bookingId) {
         BookingEntity booking = bookingRepository.findById(bookingId)
             .orElseThrow(() -> new RuntimeException("Booking not found"));
+        // Cancelled bookings (including expired holds) and confirmed ones cannot take a new order
+        if (booking.getStatus() != BookingStatus.PENDING) {
+            throw new RuntimeException("Booking is " + booking.getStatus() + " and cannot be paid");
+        }
 
-        try {
-            JSONObject orderRequest = new JSONObject();
-            orderRequest.put("amount", booking.getTotalAmount()
-                    .multiply(java.math.BigDecimal.valueOf(100))
-                    .longValue());
-            orderRequest.put("currency", "INR");
-            orderRequest.put("receipt", "receipt#" + bookingId);
-
-            JSONObject notes = new JSONObject();
-            notes.put("bookingId", bookingId);
-            notes.put("userId", booking.getUser().getId());
-            notes.put("bikeId", booking.getBike().getId());
-            orderRequest.put("notes", notes);
-
-            Order order = razorpayClient.orders.create(orderRequest);
-            String orderId = order.get("id");
-
-            PaymentEntity payment = PaymentEntity.builder()
-                .booking(booking)
-                .razorpayOrderId(orderId)
-                .amount(booking.getTotalAmount())
-                .status(PaymentStatus.PENDING)
-                .build();
+        PaymentEntity payment = paymentRepository.findByBookingId(bookingId).orElse(null);
+        if (payment == null) {
+            payment = PaymentEntity.builder().booking(booking).build();
+        } else if (payment.getStatus() == PaymentStatus.COMPLETED) {
+            throw new RuntimeException("Booking is already paid");
+        } else if (payment.getStatus() == PaymentStatus.PENDING && payment.getRazorpayOrderId() == null
+                && payment.getUpdatedAt().isAfter(LocalDateTime.now().minus(intentStaleAfter))) {
+            throw new RuntimeException("Payment order is already being created");
+        }
+
+        long amountInPaise = PricingEngine.toPaise(booking.getTotalAmount());
+        String bikeId = booking.getBike().getId();
+        String userId = booking.getUser().getId();
+
+        // Reuse an order that was created but never paid
+        if (payment.getStatus() == PaymentStatus.PENDING && payment.getRazorpayOrderId() != null) {
+            return new OrderIntent(payment.getId(), amountInPaise, userId, bikeId, payment.getRazorpayOrderId());
+        }
+
+        payment.setRazorpayOrderId(null);
+        payment.setAmount(booking.getTotalAmount());
+        payment.setStatus(PaymentStatus.PENDING);
+        payment.setFailureReason(null);
+        payment = paymentRepository.save(payment);
+        return new OrderIntent(payment.getId(), amountInPaise, userId, bikeId, null);
+    }
+
+    private void markIntentFailed(String paymentId, String reason) {
+        paymentRepository.findById(paymentId).ifPresent(payment -> {
+            payment.setStatus(PaymentStatus.FAILED);
+            payment.setFailureReason(reason);
             paymentRepository.save(payment);
+        });
+    }
 
-            return CreateOrderResponse.builder()
-                .orderId(orderId)
-                .bookingId(bookingId)
-                .amount(booking.getTotalAmount()
-                    .multiply(java.math.BigDecimal.valueOf(100))
-                    .longValue())
-                .currency("INR")
-                .keyId(razorpayKeyId)
-                .success(true)
-                .message("Order created successfully")
-                .build();
-        } catch (RazorpayException e) {
-            log.error("Error creating Razorpay order", e);
-            throw new RuntimeException("Failed to create payment order");
+    /**
+     * Fails intents whose gateway call never completed (e.g. the instance died
+     * between steps) so the booking can request a fresh order.
+     */
+    @Scheduled(fixedDelayString = "${razorpay.intent.sweep-interval:60s}")
+    public void expireStaleOrderIntents() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(intentStaleAfter);
+        List<PaymentEntity> stale = paymentRepository
+            .findByStatusAndRazorpayOrderIdIsNullAndUpdatedAtBefore(PaymentStatus.PENDING, cutoff);
+        for (PaymentEntity payment : stale) {
+            payment.setStatus(PaymentStatus.FAILED);
+            payment.setFailureReason("Order creation did not complete");
+        }
+        paymentRepository.saveAll(stale);
+        if (!stale.isEmpty()) {
+            log.warn("Expired {} stale payment order intents", stale.size());
         }
     }
 
+    private record OrderIntent(String paymentId, long amountInPaise, String userId, String bikeId,
+                               String existingOrderId) {
+    }
+
     public VerifyPaymentResponse verifyPayment(VerifyPaymentRequest request) {
         try {
-            String generatedSignature = generateSignature(
-                request.getOrderId(),
-                request.getPaymentId(),
-                razorpayKeySecret
-            );
-
-            if (!generatedSignature.equals(request.getSignature())) {
+            if (!signatureVerifier.verifyPaymentSignature(
+                    request.getOrderId(), request.getPaymentId(), request.getSignature())) {
                 log.error("Invalid payment signature");
+                metrics.paymentOutcome("invalid_signature");
                 return VerifyPaymentResponse.builder()
                     .status("FAILED")
                     .message("Payment verification failed")
@@ -117,18 +194,56 @@ public class PaymentService {
                     .build();
             }
 
-            PaymentEntity payment = paymentRepository.findByRazorpayOrderId(request.getOrderId())
-                .orElseThrow(() -> new RuntimeException("Payment not found"));
+            // Booking first, then payment, as in the webhook processor; both are read under the
+            // lock because hold expiry or a webhook may be changing them concurrently
+            List<String> orderIds = List.of(request.getOrderId());
+            List<String> bookingIds = paymentRepository.findBookingIdsByRazorpayOrderIdIn(orderIds);
+            if (bookingIds.isEmpty()) {
+                throw new RuntimeException("Payment not found");
+            }
+            BookingEntity booking = bookingRepository.findByIdForUpdate(bookingIds.get(0))
+                .orElseThrow(() -> new RuntimeException("Booking not found"));
+            PaymentEntity payment = paymentRepository.findByRazorpayOrderIdInForUpdate(orderIds).get(0);
 
+            if (booking.getStatus() == BookingStatus.CANCELLED) {
+                // The hold expired (or the booking was cancelled) before the payment came in;
+                // the money is owed back, so it is flagged for refund and not counted as revenue
+                log.warn("Payment {} captured for cancelled booking {}", request.getPaymentId(), booking.getId());
+                if (payment.getStatus() != PaymentStatus.COMPLETED) {
+                    payment.setRazorpayPaymentId(request.getPaymentId());
+                    payment.setRazorpaySignature(request.getSignature());
+                    payment.setStatus(PaymentStatus.REFUND_PENDING);
+                    payment.setFailureReason("Captured after booking was cancelled");
+                    paymentRepository.save(payment);
+                }
+                metrics.paymentOutcome("verified_after_cancel");
+                return VerifyPaymentResponse.builder()
+                    .bookingId(booking.getId())
+                    .paymentId(request.getPaymentId())
+                    .status("FAILED")
+                    .message("Booking was cancelled before payment was completed; the payment will be refunded")
+                    .success(false)
+                    .build();
+            }
+
+            boolean alreadyCompleted = payment.getStatus() == PaymentStatus.COMPLETED;
             payment.setRazorpayPaymentId(request.getPaymentId());
             payment.setRazorpaySignature(request.getSignature());
             payment.setStatus(PaymentStatus.COMPLETED);
             payment.setCompletedAt(LocalDateTime.now());
             paymentRepository.save(payment);
 
-            BookingEntity booking = payment.getBooking();
-            booking.setStatus(BookingStatus.CONFIRMED);
-            bookingRepository.save(booking);
+            // A webhook may have completed it first; count the revenue once
+            if (!alreadyCompleted) {
+                fleetStats.paymentCaptured(booking, payment.getAmount());
+            }
+            if (booking.getStatus() == BookingStatus.PENDING) {
+                metrics.bookingTransition(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+                booking.setStatus(BookingStatus.CONFIRMED);
+                bookingRepository.save(booking);
+            }
+            holdScheduler.releaseAfterCommit(booking.getId());
+            metrics.paymentOutcome("verified");
 
             return VerifyPaymentResponse.builder()
                 .bookingId(booking.getId())
@@ -139,6 +254,7 @@ public class PaymentService {
                 .build();
         } catch (Exception e) {
             log.error("Error verifying payment", e);
+            metrics.paymentOutcome("verify_error");
             return VerifyPaymentResponse.builder()
                 .status("FAILED")
                 .message("Payment verification error")
@@ -146,19 +262,4 @@ public class PaymentService {
                 .build();
         }
     }
-
-    private String generateSignature(String orderId, String paymentId, String secret)
-        throws NoSuchAlgorithmException, InvalidKeyException {
-        String payload = orderId + "|" + paymentId;
-        Mac mac = Mac.getInstance("HmacSHA256");
-        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
-        byte[] hmacData = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
-        StringBuilder hexString = new StringBuilder();
-        for (byte b : hmacData) {
-            String hex = Integer.toHexString(0xff & b);
-            if (hex.length() == 1) hexString.append('0');
-            hexString.append(hex);
-        }
-        return hexString.toString();
-    }
 }
@@ -0,0 +1,261 @@
+package com.bikerental.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.stereotype.Component;
+
+import com.bikerental.backend.dto.PriceQuote;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Prices rides in whole paise. Configuration is compiled once into a Plan;
+ * each time window is compiled once into a Window (billed minutes and
+ * weekend-weighted seconds per 24h block), so quoting many bikes for the
+ * same window only costs a few multiplications per bike.
+ *
+ * Evaluation order: per-block time charge with weekend multiplier, capped at
+ * daily-cap-hours of the hourly price per 24h; location multiplier; custom
+ * PricingRule beans; promo code.
+ */
+@Component
+@Slf4j
+public class PricingEngine {
+
+    private static final long BASIS_POINTS = 10_000;
+    private static final long SECONDS_PER_HOUR = 3_600;
+    private static final long SECONDS_PER_BLOCK = 24 * SECONDS_PER_HOUR;
+
+    @Value("${app.pricing.minimum-minutes:60}")
+    private long minimumMinutes;
+
+    // 0 disables the cap
+    @Value("${app.pricing.daily-cap-hours:0}")
+    private long dailyCapHours;
+
+    // Longer windows are rejected before any per-day work is allocated
+    @Value("${app.pricing.max-window-days:31}")
+    private long maxWindowDays;
+
+    @Value("${app.pricing.weekend-multiplier:1.0}")
+    private String weekendMultiplier;
+
+    // e.g. "Hitech City=1.15,Airport=1.30"; keys match a bike's current location
+    @Value("${app.pricing.location-multipliers:}")
+    private String locationMultipliers;
+
+    // e.g. "WELCOME10=percent:10,FLAT50=flat:50.00,LONGRIDE=percent:15:240" (optional minimum minutes)
+    @Value("${app.pricing.promotions:}")
+    private String promotions;
+
+    @Autowired(required = false)
+    private List<PricingRule> customRules = List.of();
+
+    private Plan plan;
+
+    @PostConstruct
+    public void compile() {
+        List<PricingRule> rules = new ArrayList<>(customRules);
+        AnnotationAwareOrderComparator.sort(rules);
+        plan = new Plan(toBasisPoints(weekendMultiplier), parseLocationMultipliers(locationMultipliers),
+            parsePromotions(promotions), List.copyOf(rules));
+        log.info("Compiled pricing plan: {} location multipliers, {} promotions, {} custom rules",
+            plan.locationBasisPoints().size(), plan.promotions().size(), plan.rules().size());
+    }
+
+    public Window window(LocalDateTime startTime, LocalDateTime endTime) {
+        if (!endTime.isAfter(startTime)) {
+            throw new RuntimeException("End time must be after start time");
+        }
+        long seconds = ChronoUnit.SECONDS.between(startTime, endTime);
+        if (seconds > maxWindowDays * SECONDS_PER_BLOCK) {
+            throw new RuntimeException("Rental period must not exceed " + maxWindowDays + " days");
+        }
+        long billedMinutes = Math.max((seconds + 59) / 60, minimumMinutes);
+        long billedSeconds = billedMinutes * 60;
+
+        // Seconds in each 24h block from the start, weighted by the weekend multiplier
+        int blocks = (int) ((billedSeconds + SECONDS_PER_BLOCK - 1) / SECONDS_PER_BLOCK);
+        long[] weights = new long[blocks];
+        LocalDateTime billedEnd = startTime.plusSeconds(billedSeconds);
+        LocalDateTime cursor = startTime;
+        for (int block = 0; block < blocks; block++) {
+            LocalDateTime blockEnd = min(startTime.plusSeconds((block + 1) * SECONDS_PER_BLOCK), billedEnd);
+            while (cursor.isBefore(blockEnd)) {
+                LocalDateTime next = min(cursor.toLocalDate().plusDays(1).atStartOfDay(), blockEnd);
+                long multiplier = isWeekend(cursor.getDayOfWeek()) ? plan.weekendBasisPoints() : BASIS_POINTS;
+                weights[block] += ChronoUnit.SECONDS.between(cursor, next) * multiplier;
+                cursor = next;
+            }
+        }
+        return new Window(startTime, endTime, billedMinutes, weights);
+    }
+
+    public PriceQuote quote(String bikeId, long pricePerHourPaise, String location,
+                            LocalDateTime startTime, LocalDateTime endTime, String promoCode) {
+        return quote(window(startTime, endTime), bikeId, pricePerHourPaise, location, promoCode);
+    }
+
+    public PriceQuote quote(Window window, String bikeId, long pricePerHourPaise, String location, String promoCode) {
+        Promotion promotion = promotion(promoCode, window);
+
+        long cap = dailyCapHours > 0 ? Math.multiplyExact(pricePerHourPaise, dailyCapHours) : Long.MAX_VALUE;
+        long base = 0;
+        for (long weight : window.blockWeights()) {
+            base += Math.min(mulDiv(pricePerHourPaise, weight, SECONDS_PER_HOUR * BASIS_POINTS), cap);
+        }
+
+        long amount = base;
+        if (location != null) {
+            Long multiplier = plan.locationBasisPoints().get(BikeCatalogSnapshot.Snapshot.key(location));
+            if (multiplier != null) {
+                amount = mulDiv(amount, multiplier, BASIS_POINTS);
+            }
+        }
+        if (!plan.rules().isEmpty()) {
+            Context context = new Context(bikeId, pricePerHourPaise, location, window, promoCode);
+            for (PricingRule rule : plan.rules()) {
+                amount = Math.max(0, rule.apply(context, amount));
+            }
+        }
+
+        long discount = promotion == null ? 0 : promotion.discount(amount);
+        return PriceQuote.builder()
+            .bikeId(bikeId)
+            .billedMinutes(window.billedMinutes())
+            .baseAmount(base)
+            .adjustmentAmount(amount - base)
+            .discountAmount(discount)
+            .totalAmount(amount - discount)
+            .promoCode(promotion == null ? null : promotion.code())
+            .build();
+    }
+
+    public static long toPaise(BigDecimal rupees) {
+        return rupees.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    public static BigDecimal toRupees(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+
+    private Promotion promotion(String promoCode, Window window) {
+        if (promoCode == null || promoCode.isBlank()) {
+            return null;
+        }
+        Promotion promotion = plan.promotions().get(promoCode.trim().toUpperCase(Locale.ROOT));
+        if (promotion == null) {
+            throw new RuntimeException("Invalid promo code");
+        }
+        if (window.billedMinutes() < promotion.minimumMinutes()) {
+            throw new RuntimeException("Promo code " + promotion.code() + " requires a ride of at least "
+                + promotion.minimumMinutes() + " minutes");
+        }
+        return promotion;
+    }
+
+    // a * b / c rounded half up; all operands are non-negative
+    private static long mulDiv(long a, long b, long c) {
+        long product = Math.multiplyExact(a, b);
+        return (product + c / 2) / c;
+    }
+
+    private static boolean isWeekend(DayOfWeek day) {
+        return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static long toBasisPoints(String multiplier) {
+        long basisPoints = new BigDecimal(multiplier.trim()).movePointRight(4)
+            .setScale(0, RoundingMode.HALF_UP).longValueExact();
+        if (basisPoints <= 0) {
+            throw new RuntimeException("Pricing multiplier must be positive: " + multiplier);
+        }
+        return basisPoints;
+    }
+
+    private static Map<String, Long> parseLocationMultipliers(String config) {
+        Map<String, Long> multipliers = new HashMap<>();
+        for (String entry : entries(config)) {
+            int separator = entry.lastIndexOf('=');
+            if (separator <= 0) {
+                throw new RuntimeException("Invalid location multiplier: " + entry);
+            }
+            multipliers.put(BikeCatalogSnapshot.Snapshot.key(entry.substring(0, separator)),
+                toBasisPoints(entry.substring(separator + 1)));
+        }
+        return Map.copyOf(multipliers);
+    }
+
+    private static Map<String, Promotion> parsePromotions(String config) {
+        Map<String, Promotion> parsed = new HashMap<>();
+        for (String entry : entries(config)) {
+            String[] codeAndRule = entry.split("=", 2);
+            String[] parts = codeAndRule.length == 2 ? codeAndRule[1].split(":") : new String[0];
+            if (parts.length < 2 || parts.length > 3) {
+                throw new RuntimeException("Invalid promotion: " + entry);
+            }
+            String code = codeAndRule[0].trim().toUpperCase(Locale.ROOT);
+            long minimum = parts.length == 3 ? Long.parseLong(parts[2].trim()) : 0;
+            Promotion promotion = switch (parts[0].trim().toLowerCase(Locale.ROOT)) {
+                case "percent" -> new Promotion(code, toBasisPoints(parts[1]) / 100, 0, minimum);
+                case "flat" -> new Promotion(code, 0, toPaise(new BigDecimal(parts[1].trim())), minimum);
+                default -> throw new RuntimeException("Invalid promotion type: " + entry);
+            };
+            if (promotion.percentBasisPoints() > BASIS_POINTS) {
+                throw new RuntimeException("Promotion cannot exceed 100%: " + entry);
+            }
+            parsed.put(code, promotion);
+        }
+        return Map.copyOf(parsed);
+    }
+
+    private static List<String> entries(String config) {
+        List<String> entries = new ArrayList<>();
+        for (String entry : config.split(",")) {
+            if (!entry.isBlank()) {
+                entries.add(entry.trim());
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Inputs visible to a PricingRule.
+     */
+    public record Context(String bikeId, long pricePerHourPaise, String location, Window window, String promoCode) {
+    }
+
+    /**
+     * One ride window, priced against any number of bikes.
+     */
+    public record Window(LocalDateTime startTime, LocalDateTime endTime, long billedMinutes, long[] blockWeights) {
+    }
+
+    private record Plan(long weekendBasisPoints, Map<String, Long> locationBasisPoints,
+                        Map<String, Promotion> promotions, List<PricingRule> rules) {
+    }
+
+    private record Promotion(String code, long percentBasisPoints, long flatPaise, long minimumMinutes) {
+
+        long discount(long amount) {
+            long discount = flatPaise > 0 ? flatPaise : mulDiv(amount, percentBasisPoints, BASIS_POINTS);
+            return Math.min(discount, amount);
+        }
+    }
+}
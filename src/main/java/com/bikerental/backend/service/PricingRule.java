@@ -0,0 +1,14 @@
+package com.bikerental.backend.service;
+
+/**
+ * Extra pricing step run by PricingEngine after the time charge and location
+ * multiplier, before any promo code. Beans implementing this are picked up at
+ * startup and applied in @Order order.
+ */
+public interface PricingRule {
+
+    /**
+     * Returns the adjusted amount in paise.
+     */
+    long apply(PricingEngine.Context context, long amountPaise);
+}
@@ -0,0 +1,166 @@
+package com.bikerental.backend.service;
+
+import com.razorpay.Order;
+import com.razorpay.RazorpayClient;
+import com.razorpay.RazorpayException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Blocking Razorpay SDK calls, run on a dedicated bounded pool so a slow
+ * gateway can only exhaust these threads and never a transaction.
+ */
+@Component
+@Slf4j
+public class RazorpayGateway {
+
+    @Value("${razorpay.key.id}")
+    private String razorpayKeyId;
+
+    @Value("${razorpay.key.secret}")
+    private String razorpayKeySecret;
+
+    @Value("${razorpay.executor.threads:16}")
+    private int threads;
+
+    @Value("${razorpay.executor.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${razorpay.timeout:10s}")
+    private Duration timeout;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private RazorpayClient razorpayClient;
+    private AsyncTaskExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        try {
+            this.razorpayClient = new RazorpayClient(razorpayKeyId, razorpayKeySecret);
+        } catch (RazorpayException e) {
+            log.error("Failed to initialize Razorpay client", e);
+        }
+
+        if (virtualThreads) {
+            // A thread per call is cheap; the concurrency limit keeps the bulkhead
+            SimpleAsyncTaskExecutor virtualExecutor = new SimpleAsyncTaskExecutor("razorpay-");
+            virtualExecutor.setVirtualThreads(true);
+            virtualExecutor.setConcurrencyLimit(threads);
+            executor = virtualExecutor;
+        } else {
+            ThreadPoolTaskExecutor poolExecutor = new ThreadPoolTaskExecutor();
+            poolExecutor.setCorePoolSize(threads);
+            poolExecutor.setMaxPoolSize(threads);
+            poolExecutor.setQueueCapacity(queueCapacity);
+            poolExecutor.setThreadNamePrefix("razorpay-");
+            poolExecutor.initialize();
+            executor = poolExecutor;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ThreadPoolTaskExecutor poolExecutor) {
+            poolExecutor.shutdown();
+        }
+    }
+
+    public String getKeyId() {
+        return razorpayKeyId;
+    }
+
+    /**
+     * Creates an order and returns its Razorpay id. Must not be called inside
+     * a transaction.
+     */
+    public String createOrder(JSONObject orderRequest) throws RazorpayException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            String orderId = submitOrder(orderRequest);
+            outcome = "success";
+            return orderId;
+        } catch (GatewayTimeoutException e) {
+            outcome = "timeout";
+            throw e;
+        } catch (GatewayRejectedException e) {
+            outcome = "rejected";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("bikerental.razorpay.requests")
+                .description("Razorpay API call latency by outcome")
+                .tag("operation", "createOrder")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        }
+    }
+
+    private String submitOrder(JSONObject orderRequest) throws RazorpayException {
+        CompletableFuture<String> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> {
+                try {
+                    Order order = razorpayClient.orders.create(orderRequest);
+                    return order.get("id");
+                } catch (RazorpayException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            // Pool and queue are full; fail like any other gateway error
+            throw new GatewayRejectedException("Razorpay executor is saturated");
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new GatewayTimeoutException("Razorpay order creation timed out after " + timeout);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RazorpayException razorpayException) {
+                throw razorpayException;
+            }
+            throw new RazorpayException(String.valueOf(e.getCause()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RazorpayException("Interrupted while creating Razorpay order");
+        }
+    }
+
+    private static class GatewayTimeoutException extends RazorpayException {
+        GatewayTimeoutException(String message) {
+            super(message);
+        }
+    }
+
+    private static class GatewayRejectedException extends RazorpayException {
+        GatewayRejectedException(String message) {
+            super(message);
+        }
+    }
+}
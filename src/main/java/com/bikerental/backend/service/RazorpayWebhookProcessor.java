@@ -0,0 +1,311 @@
+package com.bikerental.backend.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bikerental.backend.entity.BookingEntity;
+import com.bikerental.backend.entity.BookingStatus;
+import com.bikerental.backend.entity.PaymentEntity;
+import com.bikerental.backend.entity.PaymentStatus;
+import com.bikerental.backend.entity.WebhookEventEntity;
+import com.bikerental.backend.repository.BookingRepository;
+import com.bikerental.backend.repository.PaymentRepository;
+import com.bikerental.backend.repository.WebhookEventRepository;
+import com.bikerental.backend.security.RazorpaySignatureVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Razorpay webhook ingestion. Request threads only verify the signature and
+ * enqueue; a single worker drains the bounded queue and applies events in
+ * batches, skipping event ids that were already applied.
+ */
+@Component
+@Slf4j
+public class RazorpayWebhookProcessor {
+
+    public enum Outcome { ACCEPTED, DUPLICATE, INVALID_SIGNATURE, MALFORMED, QUEUE_FULL }
+
+    @Autowired
+    private RazorpaySignatureVerifier signatureVerifier;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private WebhookEventRepository webhookEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BackendMetrics metrics;
+
+    @Autowired
+    private FleetStatsService fleetStats;
+
+    @Autowired
+    private BookingHoldScheduler holdScheduler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${razorpay.webhook.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${razorpay.webhook.batch-size:200}")
+    private int batchSize;
+
+    private BlockingQueue<WebhookEvent> queue;
+    // Ids queued but not yet applied, so redeliveries during a burst are dropped early
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private volatile boolean running = true;
+    private Thread worker;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("bikerental.razorpay.webhook.queue", queue, BlockingQueue::size)
+            .description("Webhook events waiting to be applied")
+            .register(meterRegistry);
+        worker = new Thread(this::drainLoop, "razorpay-webhook");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // Not interrupted: a batch in flight finishes its transaction
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(30));
+        // Whatever is left gets applied before the context closes
+        List<WebhookEvent> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            applyBatch(rest);
+        }
+    }
+
+    /**
+     * Verifies and enqueues a webhook. Never blocks; a full queue is reported
+     * so the endpoint can answer with a retryable status.
+     */
+    public Outcome accept(String eventId, byte[] body, String signature) {
+        if (!signatureVerifier.verifyWebhookSignature(body, signature)) {
+            return Outcome.INVALID_SIGNATURE;
+        }
+        WebhookEvent event;
+        try {
+            event = WebhookEvent.parse(eventId, body);
+        } catch (JSONException e) {
+            log.warn("Malformed Razorpay webhook {}: {}", eventId, e.getMessage());
+            return Outcome.MALFORMED;
+        }
+        if (event == null) {
+            return Outcome.MALFORMED;
+        }
+        if (!pending.add(event.eventId())) {
+            return Outcome.DUPLICATE;
+        }
+        if (!queue.offer(event)) {
+            pending.remove(event.eventId());
+            return Outcome.QUEUE_FULL;
+        }
+        return Outcome.ACCEPTED;
+    }
+
+    private void drainLoop() {
+        List<WebhookEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                WebhookEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                applyBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed to apply Razorpay webhook batch", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void applyBatch(List<WebhookEvent> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(batch));
+        } catch (RuntimeException e) {
+            // One bad event (or a concurrent instance) must not sink the batch
+            log.warn("Webhook batch of {} failed, applying events one by one", batch.size(), e);
+            for (WebhookEvent event : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> apply(List.of(event)));
+                } catch (RuntimeException single) {
+                    log.error("Failed to apply Razorpay webhook {}", event.eventId(), single);
+                }
+            }
+        } finally {
+            batch.forEach(event -> pending.remove(event.eventId()));
+        }
+    }
+
+    private void apply(List<WebhookEvent> batch) {
+        Set<String> applied = new HashSet<>(webhookEventRepository.findExistingIds(
+            batch.stream().map(WebhookEvent::eventId).toList()));
+
+        Map<String, WebhookEvent> fresh = new LinkedHashMap<>();
+        for (WebhookEvent event : batch) {
+            if (!applied.contains(event.eventId())) {
+                fresh.putIfAbsent(event.eventId(), event);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        Set<String> orderIds = fresh.values().stream()
+            .map(WebhookEvent::orderId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<String, PaymentEntity> payments = Map.of();
+        if (!orderIds.isEmpty()) {
+            // Bookings are locked before payments, as in PaymentService.verifyPayment, so a
+            // hold expiring concurrently cannot cancel a booking this batch confirms
+            bookingRepository.findAllByIdForUpdate(paymentRepository.findBookingIdsByRazorpayOrderIdIn(orderIds));
+            payments = paymentRepository.findByRazorpayOrderIdInForUpdate(orderIds).stream()
+                .collect(Collectors.toMap(PaymentEntity::getRazorpayOrderId, Function.identity()));
+        }
+
+        Map<String, PaymentEntity> changedPayments = new LinkedHashMap<>();
+        Map<String, BookingEntity> changedBookings = new LinkedHashMap<>();
+        List<WebhookEventEntity> records = new ArrayList<>(fresh.size());
+        for (WebhookEvent event : fresh.values()) {
+            PaymentEntity payment = payments.get(event.orderId());
+            if (payment != null && transition(event, payment)) {
+                changedPayments.put(payment.getId(), payment);
+                BookingEntity booking = payment.getBooking();
+                if (payment.getStatus() == PaymentStatus.COMPLETED) {
+                    fleetStats.paymentCaptured(booking, payment.getAmount());
+                }
+                if (payment.getStatus() == PaymentStatus.COMPLETED && booking.getStatus() == BookingStatus.PENDING) {
+                    metrics.bookingTransition(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+                    booking.setStatus(BookingStatus.CONFIRMED);
+                    changedBookings.put(booking.getId(), booking);
+                    holdScheduler.releaseAfterCommit(booking.getId());
+                }
+            }
+            records.add(WebhookEventEntity.builder()
+                .id(event.eventId())
+                .eventType(event.type())
+                .razorpayOrderId(event.orderId())
+                .razorpayPaymentId(event.paymentId())
+                .build());
+        }
+
+        paymentRepository.saveAll(changedPayments.values());
+        bookingRepository.saveAll(changedBookings.values());
+        webhookEventRepository.saveAll(records);
+    }
+
+    // Only moves a payment forward; COMPLETED and REFUND_PENDING are never undone by a late event
+    private boolean transition(WebhookEvent event, PaymentEntity payment) {
+        switch (event.type()) {
+            case "payment.captured", "order.paid" -> {
+                if (payment.getStatus() == PaymentStatus.COMPLETED
+                        || payment.getStatus() == PaymentStatus.REFUND_PENDING) {
+                    return false;
+                }
+                BookingEntity booking = payment.getBooking();
+                if (booking.getStatus() == BookingStatus.CANCELLED) {
+                    // As in PaymentService.verifyPayment: owed back, not revenue
+                    log.warn("Payment {} captured for cancelled booking {}", event.paymentId(), booking.getId());
+                    payment.setStatus(PaymentStatus.REFUND_PENDING);
+                    payment.setRazorpayPaymentId(event.paymentId());
+                    payment.setFailureReason("Captured after booking was cancelled");
+                    metrics.paymentOutcome("captured_after_cancel");
+                    return true;
+                }
+                payment.setStatus(PaymentStatus.COMPLETED);
+                payment.setRazorpayPaymentId(event.paymentId());
+                payment.setFailureReason(null);
+                payment.setCompletedAt(LocalDateTime.now());
+                metrics.paymentOutcome("webhook_captured");
+                return true;
+            }
+            case "payment.failed" -> {
+                if (payment.getStatus() != PaymentStatus.PENDING) {
+                    return false;
+                }
+                payment.setStatus(PaymentStatus.FAILED);
+                payment.setRazorpayPaymentId(event.paymentId());
+                payment.setFailureReason(event.errorDescription());
+                metrics.paymentOutcome("webhook_failed");
+                return true;
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    record WebhookEvent(String eventId, String type, String orderId, String paymentId,
+                        String errorDescription) {
+
+        static WebhookEvent parse(String eventId, byte[] body) {
+            if (eventId == null || eventId.isBlank()) {
+                return null;
+            }
+            JSONObject root = new JSONObject(new String(body, StandardCharsets.UTF_8));
+            JSONObject payload = root.optJSONObject("payload");
+            JSONObject payment = payload == null ? null : entity(payload, "payment");
+            JSONObject order = payload == null ? null : entity(payload, "order");
+
+            String orderId = text(payment, "order_id");
+            if (orderId == null) {
+                orderId = text(order, "id");
+            }
+            return new WebhookEvent(eventId, root.getString("event"), orderId,
+                text(payment, "id"), text(payment, "error_description"));
+        }
+
+        private static String text(JSONObject object, String key) {
+            return object == null || object.isNull(key) ? null : object.getString(key);
+        }
+
+        private static JSONObject entity(JSONObject payload, String name) {
+            JSONObject wrapper = payload.optJSONObject(name);
+            return wrapper == null ? null : wrapper.optJSONObject("entity");
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.bikerental.backend.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bikerental.backend.entity.CacheRegions;
+import com.bikerental.backend.event.BikesImportedEvent;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Meters for the Hibernate second-level cache regions (requires
+ * hibernate.generate_statistics), and eviction for writes Hibernate does not
+ * see: bulk imports insert through JDBC, so cached bike query results would
+ * miss the new rows until the region is cleared.
+ */
+@Component
+@Slf4j
+public class SecondLevelCache {
+
+    private static final List<String> METERED_REGIONS = List.of(
+        CacheRegions.BIKES, CacheRegions.USERS, CacheRegions.BIKE_QUERIES, CacheRegions.USER_QUERIES);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private SessionFactory sessionFactory;
+
+    @PostConstruct
+    public void init() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        if (!sessionFactory.getStatistics().isStatisticsEnabled()) {
+            log.warn("Hibernate statistics are disabled; second-level cache meters will read zero");
+        }
+        for (String region : METERED_REGIONS) {
+            counter("bikerental.hibernate.cache.requests", "Second-level cache lookups", region, "hit",
+                CacheRegionStatistics::getHitCount);
+            counter("bikerental.hibernate.cache.requests", "Second-level cache lookups", region, "miss",
+                CacheRegionStatistics::getMissCount);
+            FunctionCounter.builder("bikerental.hibernate.cache.puts", this,
+                    cache -> cache.read(region, CacheRegionStatistics::getPutCount))
+                .description("Second-level cache puts")
+                .tag("region", region)
+                .register(meterRegistry);
+            Gauge.builder("bikerental.hibernate.cache.hit.ratio", this, cache -> cache.hitRatio(region))
+                .description("Second-level cache hits over lookups since startup")
+                .tag("region", region)
+                .register(meterRegistry);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBikesImported(BikesImportedEvent event) {
+        sessionFactory.getCache().evictQueryRegion(CacheRegions.BIKE_QUERIES);
+    }
+
+    public double hitRatio(String region) {
+        long hits = read(region, CacheRegionStatistics::getHitCount);
+        long lookups = hits + read(region, CacheRegionStatistics::getMissCount);
+        return lookups == 0 ? Double.NaN : (double) hits / lookups;
+    }
+
+    private void counter(String name, String description, String region, String result,
+                         ToLongFunction<CacheRegionStatistics> count) {
+        FunctionCounter.builder(name, this, cache -> cache.read(region, count))
+            .description(description)
+            .tag("region", region)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private long read(String region, ToLongFunction<CacheRegionStatistics> count) {
+        Statistics statistics = sessionFactory.getStatistics();
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        return regionStatistics == null ? 0 : count.applyAsLong(regionStatistics);
+    }
+}
@@ -0,0 +1,167 @@
+package com.bikerental.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hierarchical timing wheel keyed by id. Level 0 has wheelSize slots of
+ * tickMillis each; every level above covers wheelSize slots of the whole
+ * level below. Scheduling and cancelling are O(1); advancing costs one bucket
+ * per tick plus cascades, never a scan of all pending timers.
+ */
+class TimingWheel {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] levelTicks;
+    private final List<List<Set<Timer>>> levels = new ArrayList<>();
+    private final Map<String, Timer> timers = new HashMap<>();
+    private final List<String> due = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long currentTime;
+
+    TimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levelTicks = new long[levelCount];
+        long ticks = tickMillis;
+        for (int level = 0; level < levelCount; level++) {
+            levelTicks[level] = ticks;
+            ticks = Math.multiplyExact(ticks, wheelSize);
+            List<Set<Timer>> buckets = new ArrayList<>(wheelSize);
+            for (int slot = 0; slot < wheelSize; slot++) {
+                buckets.add(new HashSet<>());
+            }
+            levels.add(buckets);
+        }
+        this.currentTime = startMillis - startMillis % tickMillis;
+    }
+
+    /**
+     * Schedules (or reschedules) the id to expire at the given epoch millis.
+     */
+    void schedule(String id, long deadlineMillis) {
+        lock.lock();
+        try {
+            cancelLocked(id);
+            Timer timer = new Timer(id, deadlineMillis);
+            timers.put(id, timer);
+            place(timer);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void cancel(String id) {
+        lock.lock();
+        try {
+            cancelLocked(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return timers.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the wheel forward to nowMillis and returns the ids that expired.
+     */
+    List<String> advance(long nowMillis) {
+        lock.lock();
+        try {
+            while (currentTime + tickMillis <= nowMillis) {
+                currentTime += tickMillis;
+                // Cascade coarse buckets that just came due into the finer levels
+                for (int level = levelTicks.length - 1; level > 0; level--) {
+                    if (currentTime % levelTicks[level] == 0) {
+                        for (Timer timer : drain(level, slot(level, currentTime))) {
+                            place(timer);
+                        }
+                    }
+                }
+                for (Timer timer : drain(0, slot(0, currentTime))) {
+                    expire(timer);
+                }
+            }
+            List<String> expired = new ArrayList<>(due);
+            due.clear();
+            return expired;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void place(Timer timer) {
+        if (timer.deadline < currentTime + tickMillis) {
+            expire(timer);
+            return;
+        }
+        int top = levelTicks.length - 1;
+        for (int level = 0; level <= top; level++) {
+            long levelStart = currentTime - currentTime % levelTicks[level];
+            if (timer.deadline < levelStart + levelTicks[level] * wheelSize) {
+                add(timer, level, slot(level, timer.deadline));
+                return;
+            }
+        }
+        // Beyond the top level's horizon: park in its farthest slot and re-place on cascade
+        long topStart = currentTime - currentTime % levelTicks[top];
+        add(timer, top, slot(top, topStart + levelTicks[top] * (wheelSize - 1)));
+    }
+
+    private void add(Timer timer, int level, int slot) {
+        timer.level = level;
+        timer.slot = slot;
+        levels.get(level).get(slot).add(timer);
+    }
+
+    private List<Timer> drain(int level, int slot) {
+        Set<Timer> bucket = levels.get(level).get(slot);
+        if (bucket.isEmpty()) {
+            return List.of();
+        }
+        List<Timer> drained = new ArrayList<>(bucket);
+        bucket.clear();
+        return drained;
+    }
+
+    private void expire(Timer timer) {
+        timers.remove(timer.id);
+        due.add(timer.id);
+    }
+
+    private void cancelLocked(String id) {
+        Timer timer = timers.remove(id);
+        if (timer != null && timer.level >= 0) {
+            levels.get(timer.level).get(timer.slot).remove(timer);
+        }
+    }
+
+    private int slot(int level, long time) {
+        return (int) ((time / levelTicks[level]) % wheelSize);
+    }
+
+    private static final class Timer {
+        private final String id;
+        private final long deadline;
+        private int level = -1;
+        private int slot;
+
+        Timer(String id, long deadline) {
+            this.id = id;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.bikerental.backend.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import com.bikerental.backend.dto.ApiResponse;
+import com.bikerental.backend.dto.BikeDTO;
+import com.bikerental.backend.entity.BikeStatus;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON cost of the catalog listing payload, ApiResponse<Page<BikeDTO>>. The
+ * mapper is the Jackson 3 JsonMapper from Boot's Jackson auto-configuration
+ * with application.properties applied, i.e. the one Spring MVC writes with.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"10", "50"})
+    public int pageSize;
+
+    private JsonMapper jsonMapper;
+    private ApiResponse<Page<BikeDTO>> response;
+
+    @Setup
+    public void setUp() {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(JacksonAutoConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run()) {
+            jsonMapper = context.getBean(JsonMapper.class);
+        }
+
+        List<BikeDTO> bikes = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            bikes.add(BikeDTO.builder()
+                .id("bike-" + i)
+                .model("Model " + i)
+                .brand("Brand " + (i % 8))
+                .registrationNumber("TS09AB" + (1000 + i))
+                .pricePerHour(BigDecimal.valueOf(99 + i))
+                .status(BikeStatus.READY)
+                .currentLocation("Hyderabad")
+                .mileage(40)
+                .bikePhotoUrl("https://cdn.example.com/bikes/" + i + ".jpg")
+                .description("Well maintained commuter bike")
+                .yearOfManufacture(2022)
+                .color("Black")
+                .build());
+        }
+        response = ApiResponse.<Page<BikeDTO>>builder()
+            .data(new PageImpl<>(bikes, PageRequest.of(0, pageSize), 1_000))
+            .message("Bikes fetched successfully")
+            .success(true)
+            .statusCode(200)
+            .build();
+    }
+
+    @Benchmark
+    public byte[] serializeBikePage() {
+        return jsonMapper.writeValueAsBytes(response);
+    }
+}
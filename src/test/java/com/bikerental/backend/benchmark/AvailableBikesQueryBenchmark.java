@@ -0,0 +1,127 @@
+package com.bikerental.backend.benchmark;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.bikerental.backend.dto.BikeDTO;
+import com.bikerental.backend.service.BikeService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds 50k bikes and 5M bookings and times /api/bikes/available's anti-join.
+ * Run with: mvn test -Dtest=AvailableBikesQueryBenchmark -Dbenchmark=true
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AvailableBikesQueryBenchmark {
+
+    private static final int BIKES = 50_000;
+    private static final int BOOKINGS = 5_000_000;
+    private static final int BATCH_SIZE = 5_000;
+    private static final int RUNS = 200;
+    private static final String PREFIX = "bench-";
+    private static final String[] LOCATIONS = {"Hyderabad", "Bengaluru", "Chennai", "Pune", "Mumbai"};
+    private static final String[] STATUSES = {"PENDING", "CONFIRMED", "COMPLETED", "CANCELLED"};
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BikeService bikeService;
+
+    @BeforeAll
+    void seed() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO users (id, phone_number, role, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+            PREFIX + "user", "+910000000000", "CUSTOMER", now, now);
+
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BIKES; i++) {
+            rows.add(new Object[] {PREFIX + "bike-" + i, "Model " + i, "Brand " + (i % 40),
+                PREFIX + "REG-" + i, 50 + i % 100, "READY", LOCATIONS[i % LOCATIONS.length], now, now});
+            if (rows.size() == BATCH_SIZE) flushBikes(rows);
+        }
+        flushBikes(rows);
+
+        Random random = new Random(42);
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = EPOCH.plusHours(random.nextInt(365 * 24));
+            LocalDateTime end = start.plusHours(1 + random.nextInt(48));
+            rows.add(new Object[] {PREFIX + "booking-" + i, PREFIX + "user", PREFIX + "bike-" + random.nextInt(BIKES),
+                Timestamp.valueOf(start), Timestamp.valueOf(end), 100, STATUSES[random.nextInt(STATUSES.length)], now, now});
+            if (rows.size() == BATCH_SIZE) flushBookings(rows);
+        }
+        flushBookings(rows);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM bookings WHERE id LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM bikes WHERE id LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE id LIKE ?", PREFIX + "%");
+    }
+
+    @Test
+    void availableBetween() {
+        Random random = new Random(7);
+        long[] nanos = new long[RUNS];
+        long found = 0;
+        for (int i = 0; i < RUNS; i++) {
+            LocalDateTime from = EPOCH.plusHours(random.nextInt(365 * 24));
+            LocalDateTime to = from.plusHours(1 + random.nextInt(24));
+            String location = i % 2 == 0 ? LOCATIONS[i % LOCATIONS.length] : null;
+
+            long started = System.nanoTime();
+            Page<BikeDTO> page = bikeService.getAvailableBikesBetween(from, to, location, PageRequest.of(0, 20));
+            nanos[i] = System.nanoTime() - started;
+            found += page.getTotalElements();
+        }
+        Arrays.sort(nanos);
+        System.out.printf("available-between: runs=%d p50=%.2fms p99=%.2fms max=%.2fms avgMatches=%d%n",
+            RUNS, nanos[RUNS / 2] / 1e6, nanos[RUNS * 99 / 100] / 1e6, nanos[RUNS - 1] / 1e6, found / RUNS);
+
+        jdbcTemplate.queryForList("""
+            EXPLAIN SELECT bk.id FROM bikes bk
+            WHERE bk.status IN ('READY', 'IN_PROCESS')
+              AND NOT EXISTS (SELECT 1 FROM bookings b
+                              WHERE b.bike_id = bk.id AND b.start_time < ? AND b.end_time > ?
+                                AND b.status IN ('PENDING', 'CONFIRMED', 'IN_PROGRESS'))
+            LIMIT 20
+            """, Timestamp.valueOf(EPOCH.plusDays(30)), Timestamp.valueOf(EPOCH.plusDays(29)))
+            .forEach(System.out::println);
+    }
+
+    private void flushBikes(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO bikes (id, model, brand, registration_number, price_per_hour, status,
+                               current_location, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """, rows);
+        rows.clear();
+    }
+
+    private void flushBookings(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO bookings (id, user_id, bike_id, start_time, end_time, total_amount, status,
+                                  created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """, rows);
+        rows.clear();
+    }
+}
@@ -0,0 +1,77 @@
+package com.bikerental.backend.benchmark;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.bikerental.backend.dto.BikeDTO;
+import com.bikerental.backend.dto.BulkImportResult;
+import com.bikerental.backend.service.BikeImportService;
+import com.bikerental.backend.service.BikeService;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Throughput of the per-row createBike path against the streaming bulk import.
+ * Run with: mvn test -Dtest=BikeImportBenchmark -Dbenchmark=true
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BikeImportBenchmark {
+
+    private static final int PER_ROW_BIKES = 2_000;
+    private static final int BULK_BIKES = 50_000;
+    private static final String PREFIX = "import-bench-";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BikeService bikeService;
+
+    @Autowired
+    private BikeImportService bikeImportService;
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM bikes WHERE registration_number LIKE ?", PREFIX + "%");
+    }
+
+    @Test
+    void perRowAgainstBulk() throws Exception {
+        long started = System.nanoTime();
+        for (int i = 0; i < PER_ROW_BIKES; i++) {
+            bikeService.createBike(BikeDTO.builder()
+                .model("Model " + i)
+                .brand("Brand " + (i % 40))
+                .registrationNumber(PREFIX + "row-" + i)
+                .pricePerHour(BigDecimal.valueOf(50 + i % 100))
+                .currentLocation("Hyderabad")
+                .build());
+        }
+        double perRowRate = PER_ROW_BIKES / ((System.nanoTime() - started) / 1e9);
+
+        StringBuilder csv = new StringBuilder("model,brand,registrationNumber,pricePerHour,currentLocation\n");
+        for (int i = 0; i < BULK_BIKES; i++) {
+            csv.append("Model ").append(i).append(",Brand ").append(i % 40).append(',')
+                .append(PREFIX).append("bulk-").append(i).append(',')
+                .append(50 + i % 100).append(",Hyderabad\n");
+        }
+        byte[] body = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        started = System.nanoTime();
+        BulkImportResult result = bikeImportService.importBikes(new ByteArrayInputStream(body),
+            BikeImportService.Format.CSV);
+        double bulkRate = result.getImported() / ((System.nanoTime() - started) / 1e9);
+
+        System.out.printf("per-row: %.0f bikes/s, bulk: %.0f bikes/s (%d imported, %d failed), speedup %.1fx%n",
+            perRowRate, bulkRate, result.getImported(), result.getFailed(), bulkRate / perRowRate);
+    }
+}
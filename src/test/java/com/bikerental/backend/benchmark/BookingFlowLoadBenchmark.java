@@ -0,0 +1,143 @@
+package com.bikerental.backend.benchmark;
+
+import com.bikerental.backend.security.JwtTokenProvider;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load driver for the browse -> book -> pay flow against a running
+ * server. Start the server once normally and once with
+ * --spring.profiles.active=virtual-threads, then run this main against each:
+ *
+ *   java -cp target/test-classes:... com.bikerental.backend.benchmark.BookingFlowLoadBenchmark \
+ *       -Dbench.userId=<verified user id> -Dbench.clients=500 -Dbench.seconds=60
+ *
+ * The pay step calls Razorpay, so meaningful numbers need test-mode keys.
+ */
+public class BookingFlowLoadBenchmark {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    private final String baseUrl;
+    private final String token;
+    private final List<Long> flowNanos = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    BookingFlowLoadBenchmark(String baseUrl, String token) {
+        this.baseUrl = baseUrl;
+        this.token = token;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("bench.baseUrl", "http://localhost:8080/api");
+        String userId = System.getProperty("bench.userId");
+        int clients = Integer.getInteger("bench.clients", 200);
+        int seconds = Integer.getInteger("bench.seconds", 60);
+        if (userId == null) {
+            throw new IllegalArgumentException("-Dbench.userId=<verified user id> is required");
+        }
+
+        JwtTokenProvider tokenProvider = JwtAuthenticationBenchmark.newTokenProvider();
+        String token = tokenProvider.generateToken(userId, "+910000000000", "CUSTOMER");
+        new BookingFlowLoadBenchmark(baseUrl, token).run(clients, Duration.ofSeconds(seconds));
+    }
+
+    void run(int clients, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.execute(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long started = System.nanoTime();
+                        try {
+                            runFlow();
+                            flowNanos.add(System.nanoTime() - started);
+                            completed.incrementAndGet();
+                        } catch (Exception e) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+
+        List<Long> sorted = new ArrayList<>(flowNanos);
+        Collections.sort(sorted);
+        int n = sorted.size();
+        System.out.printf("flows=%d failed=%d throughput=%.1f/s p50=%.1fms p99=%.1fms%n",
+            completed.get(), failed.get(), completed.get() / (double) duration.toSeconds(),
+            n == 0 ? 0 : sorted.get(n / 2) / 1e6, n == 0 ? 0 : sorted.get(n * 99 / 100) / 1e6);
+    }
+
+    private void runFlow() throws Exception {
+        // Browse
+        String bikes = send(get("/api/bikes?page=0&size=20"));
+        List<String> bikeIds = new ArrayList<>();
+        Matcher matcher = ID.matcher(bikes);
+        while (matcher.find()) {
+            bikeIds.add(matcher.group(1));
+        }
+        if (bikeIds.isEmpty()) {
+            throw new IllegalStateException("No bikes to book");
+        }
+
+        // Book a random future hour
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime start = LocalDateTime.now().plusDays(1 + random.nextInt(365)).withNano(0);
+        String body = String.format("{\"bikeId\":\"%s\",\"startTime\":\"%s\",\"endTime\":\"%s\"}",
+            bikeIds.get(random.nextInt(bikeIds.size())), start, start.plusHours(1));
+        String booking = send(request("/api/bookings")
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build());
+        Matcher bookingMatcher = ID.matcher(booking);
+        if (!bookingMatcher.find()) {
+            throw new IllegalStateException("Booking rejected");
+        }
+
+        // Pay
+        send(request("/api/payment/razorpay/create-order?bookingId=" + bookingMatcher.group(1))
+            .POST(HttpRequest.BodyPublishers.noBody())
+            .build());
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Authorization", "Bearer " + token);
+    }
+
+    private String send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(request.uri() + " -> " + response.statusCode());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,98 @@
+package com.bikerental.backend.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bikerental.backend.security.JwtPrincipal;
+import com.bikerental.backend.security.JwtTokenProvider;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing cost, and the per-request cost of JwtAuthenticationFilter:
+ * the old three-parse path against a single parse and the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "your_very_long_secret_key_minimum_32_characters_for_security_purposes_only";
+
+    private JwtTokenProvider tokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = newTokenProvider();
+        token = tokenProvider.generateToken("user-1", "+919999999999", "CUSTOMER");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken("user-1", "+919999999999", "CUSTOMER");
+    }
+
+    @Benchmark
+    public String legacyThreeParses() {
+        // validateToken, getUserIdFromToken and getRoleFromToken, each deriving the key
+        legacyParse(token);
+        String userId = legacyParse(token).getSubject();
+        return userId + legacyParse(token).get("role", String.class);
+    }
+
+    @Benchmark
+    public JwtPrincipal singleParse() {
+        return tokenProvider.parsePrincipal(token);
+    }
+
+    @Benchmark
+    public JwtPrincipal cachedAuthenticate() {
+        return tokenProvider.authenticate(token);
+    }
+
+    private static Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser()
+            .verifyWith(key)
+            .build()
+            .parseSignedClaims(token)
+            .getPayload();
+    }
+
+    static JwtTokenProvider newTokenProvider() {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(provider, "refreshExpiration", 604_800_000L);
+        ReflectionTestUtils.setField(provider, "cacheMaxSize", 10_000L);
+        provider.init();
+        return provider;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(JwtAuthenticationBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
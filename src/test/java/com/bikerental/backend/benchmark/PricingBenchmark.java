@@ -0,0 +1,117 @@
+package com.bikerental.backend.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bikerental.backend.dto.PriceQuote;
+import com.bikerental.backend.service.PricingEngine;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ride pricing: the previous BigDecimal whole-hour path against PricingEngine
+ * in paise, for one bike and for a batch quote of BIKES bikes over one window.
+ * Run main() for the allocation profile (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PricingBenchmark {
+
+    private static final int BIKES = 500;
+
+    private PricingEngine engine;
+    private BigDecimal[] pricesPerHour;
+    private long[] pricesPerHourPaise;
+    private String[] bikeIds;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    @Setup
+    public void setUp() {
+        engine = new PricingEngine();
+        ReflectionTestUtils.setField(engine, "minimumMinutes", 60L);
+        ReflectionTestUtils.setField(engine, "dailyCapHours", 10L);
+        ReflectionTestUtils.setField(engine, "maxWindowDays", 31L);
+        ReflectionTestUtils.setField(engine, "weekendMultiplier", "1.20");
+        ReflectionTestUtils.setField(engine, "locationMultipliers", "Hitech City=1.15");
+        ReflectionTestUtils.setField(engine, "promotions", "WELCOME10=percent:10");
+        engine.compile();
+
+        pricesPerHour = new BigDecimal[BIKES];
+        pricesPerHourPaise = new long[BIKES];
+        bikeIds = new String[BIKES];
+        for (int i = 0; i < BIKES; i++) {
+            pricesPerHour[i] = new BigDecimal(49 + (i % 200)).add(new BigDecimal("0.50"));
+            pricesPerHourPaise[i] = PricingEngine.toPaise(pricesPerHour[i]);
+            bikeIds[i] = "bike-" + i;
+        }
+        // Friday evening into Saturday: crosses a weekend boundary
+        startTime = LocalDateTime.of(2026, 3, 13, 18, 30);
+        endTime = startTime.plusHours(5).plusMinutes(20);
+    }
+
+    @Benchmark
+    public BigDecimal legacySingle() {
+        return legacyTotalAmount(pricesPerHour[0], startTime, endTime);
+    }
+
+    @Benchmark
+    public PriceQuote engineSingle() {
+        return engine.quote(bikeIds[0], PricingEngine.toPaise(pricesPerHour[0]), "Hitech City",
+            startTime, endTime, null);
+    }
+
+    @Benchmark
+    public void legacyBatch(Blackhole blackhole) {
+        for (int i = 0; i < BIKES; i++) {
+            blackhole.consume(legacyTotalAmount(pricesPerHour[i], startTime, endTime));
+        }
+    }
+
+    @Benchmark
+    public void engineBatch(Blackhole blackhole) {
+        PricingEngine.Window window = engine.window(startTime, endTime);
+        for (int i = 0; i < BIKES; i++) {
+            blackhole.consume(engine.quote(window, bikeIds[i], pricesPerHourPaise[i], "Hitech City", "WELCOME10"));
+        }
+    }
+
+    // The former BookingService.calculateTotalAmount
+    private static BigDecimal legacyTotalAmount(BigDecimal pricePerHour, LocalDateTime startTime,
+                                                LocalDateTime endTime) {
+        long hours = ChronoUnit.HOURS.between(startTime, endTime);
+        if (hours == 0) hours = 1; // Minimum 1 hour
+        return pricePerHour.multiply(BigDecimal.valueOf(hours));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(PricingBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result("target/jmh-pricing.json")
+            .build()).run();
+    }
+}
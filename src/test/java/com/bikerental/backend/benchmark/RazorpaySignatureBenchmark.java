@@ -0,0 +1,109 @@
+package com.bikerental.backend.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bikerental.backend.security.RazorpaySignatureVerifier;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkout signature verification: the previous generate-hex-and-equals path
+ * against RazorpaySignatureVerifier. Run main() for the allocation profile
+ * (gc.alloc.rate.norm, bytes per operation).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RazorpaySignatureBenchmark {
+
+    private static final String SECRET = "test_secret_xxxxx";
+    private static final String ORDER_ID = "order_NZ8kq4Jd1XhQ2M";
+    private static final String PAYMENT_ID = "pay_NZ8lA2bC3dE4fG";
+
+    private static final byte[] WEBHOOK_BODY = ("{\"entity\":\"event\",\"event\":\"payment.captured\","
+        + "\"payload\":{\"payment\":{\"entity\":{\"id\":\"" + PAYMENT_ID + "\",\"order_id\":\""
+        + ORDER_ID + "\",\"amount\":50000,\"currency\":\"INR\",\"status\":\"captured\"}}}}")
+        .getBytes(StandardCharsets.UTF_8);
+
+    private RazorpaySignatureVerifier verifier;
+    private String signature;
+    private String webhookSignature;
+
+    @Setup
+    public void setUp() throws Exception {
+        verifier = new RazorpaySignatureVerifier();
+        ReflectionTestUtils.setField(verifier, "keySecret", SECRET);
+        ReflectionTestUtils.setField(verifier, "webhookSecret", SECRET);
+        verifier.init();
+        signature = legacyGenerateSignature(ORDER_ID, PAYMENT_ID, SECRET);
+        webhookSignature = legacyHex(legacyMac(SECRET).doFinal(WEBHOOK_BODY));
+    }
+
+    @Benchmark
+    public boolean legacyVerify() throws Exception {
+        return legacyGenerateSignature(ORDER_ID, PAYMENT_ID, SECRET).equals(signature);
+    }
+
+    @Benchmark
+    public boolean pooledVerify() {
+        return verifier.verifyPaymentSignature(ORDER_ID, PAYMENT_ID, signature);
+    }
+
+    @Benchmark
+    public boolean pooledVerifyWebhook() {
+        return verifier.verifyWebhookSignature(WEBHOOK_BODY, webhookSignature);
+    }
+
+    // The former PaymentService.generateSignature
+    private static String legacyGenerateSignature(String orderId, String paymentId, String secret)
+        throws Exception {
+        String payload = orderId + "|" + paymentId;
+        return legacyHex(legacyMac(secret).doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static Mac legacyMac(String secret) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return mac;
+    }
+
+    private static String legacyHex(byte[] hmacData) {
+        StringBuilder hexString = new StringBuilder();
+        for (byte b : hmacData) {
+            String hex = Integer.toHexString(0xff & b);
+            if (hex.length() == 1) hexString.append('0');
+            hexString.append(hex);
+        }
+        return hexString.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(RazorpaySignatureBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result("target/jmh-razorpay-signature.json")
+            .build()).run();
+    }
+}
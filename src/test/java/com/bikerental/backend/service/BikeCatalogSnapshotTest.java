@@ -0,0 +1,74 @@
+package com.bikerental.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import com.bikerental.backend.dto.BikeDTO;
+import com.bikerental.backend.entity.BikeStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BikeCatalogSnapshotTest {
+
+    private static final String[] BRANDS = {"Hero", "Bajaj", "Royal Enfield", null};
+    private static final String[] LOCATIONS = {"Indiranagar", "Koramangala", " HSR Layout ", null};
+
+    @Test
+    void incrementalChangesMatchAFullRebuild() {
+        Random random = new Random(42);
+        List<BikeDTO> all = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            all.add(bike("bike-" + i, random));
+        }
+        BikeCatalogSnapshot.Snapshot snapshot = BikeCatalogSnapshot.Snapshot.of(all);
+
+        for (int round = 0; round < 500; round++) {
+            String id = "bike-" + random.nextInt(250);
+            all.removeIf(bike -> bike.getId().equals(id));
+            if (random.nextInt(4) == 0) {
+                snapshot = snapshot.with(List.of(id), List.of());
+            } else {
+                BikeDTO changed = bike(id, random);
+                all.add(changed);
+                snapshot = snapshot.with(List.of(id), List.of(changed));
+            }
+
+            BikeCatalogSnapshot.Snapshot rebuilt = BikeCatalogSnapshot.Snapshot.of(all);
+            assertThat(snapshot.bikes()).containsExactlyElementsOf(rebuilt.bikes());
+            assertThat(snapshot.byId()).isEqualTo(rebuilt.byId());
+            assertThat(snapshot.byBrand()).isEqualTo(rebuilt.byBrand());
+            assertThat(snapshot.byLocation()).isEqualTo(rebuilt.byLocation());
+        }
+    }
+
+    @Test
+    void unchangedGroupsAreShared() {
+        BikeDTO hero = bike("a", "Hero", "Indiranagar");
+        BikeDTO bajaj = bike("b", "Bajaj", "Koramangala");
+        BikeCatalogSnapshot.Snapshot before = BikeCatalogSnapshot.Snapshot.of(List.of(hero, bajaj));
+
+        BikeCatalogSnapshot.Snapshot after = before.with(List.of("b"), List.of(bike("b", "Bajaj", "HSR Layout")));
+
+        assertThat(after.byBrand().get("hero")).isSameAs(before.byBrand().get("hero"));
+        assertThat(after.byLocation().get("indiranagar")).isSameAs(before.byLocation().get("indiranagar"));
+        assertThat(after.byLocation()).doesNotContainKey("koramangala");
+        assertThat(after.byLocation().get("hsr layout")).extracting(BikeDTO::getId).containsExactly("b");
+    }
+
+    private static BikeDTO bike(String id, Random random) {
+        return bike(id, BRANDS[random.nextInt(BRANDS.length)], LOCATIONS[random.nextInt(LOCATIONS.length)]);
+    }
+
+    private static BikeDTO bike(String id, String brand, String location) {
+        return BikeDTO.builder()
+            .id(id)
+            .brand(brand)
+            .model("Model " + id.length())
+            .currentLocation(location)
+            .status(BikeStatus.READY)
+            .build();
+    }
+}
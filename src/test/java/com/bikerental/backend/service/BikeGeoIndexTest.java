@@ -0,0 +1,100 @@
+package com.bikerental.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bikerental.backend.entity.BikeEntity;
+import com.bikerental.backend.entity.BikeStatus;
+import com.bikerental.backend.repository.BikeRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BikeGeoIndexTest {
+
+    private final List<BikeEntity> bikes = new ArrayList<>();
+    private BikeGeoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            bikes.add(bike("hyd-" + i, 17.2 + random.nextDouble() * 0.5, 78.2 + random.nextDouble() * 0.5));
+        }
+        // Either side of the antimeridian and close to the pole
+        for (int i = 0; i < 500; i++) {
+            bikes.add(bike("am-" + i, -0.5 + random.nextDouble(), 179.6 + random.nextDouble() * 0.4));
+            bikes.add(bike("pm-" + i, -0.5 + random.nextDouble(), -180 + random.nextDouble() * 0.4));
+            bikes.add(bike("np-" + i, 89.7 + random.nextDouble() * 0.3, -180 + random.nextDouble() * 360));
+        }
+
+        BikeRepository bikeRepository = mock(BikeRepository.class);
+        when(bikeRepository.findLocatedByStatus(BikeStatus.READY)).thenReturn(bikes);
+        index = new BikeGeoIndex();
+        ReflectionTestUtils.setField(index, "bikeRepository", bikeRepository);
+        ReflectionTestUtils.setField(index, "cellDegrees", 0.01);
+        index.load();
+    }
+
+    @Test
+    void nearestMatchesBruteForce() {
+        Random random = new Random(7);
+        double[][] centers = {{17.45, 78.45}, {0, 179.99}, {0, -179.99}, {89.9, 0}};
+        for (int query = 0; query < 200; query++) {
+            double[] center = centers[query % centers.length];
+            double lat = Math.min(90, center[0] + (random.nextDouble() - 0.5) * 0.1);
+            double lon = center[1] + (random.nextDouble() - 0.5) * 0.01;
+            double radius = 100 + random.nextDouble() * 50_000;
+            int limit = 1 + random.nextInt(50);
+
+            List<Double> expected = bikes.stream()
+                .map(bike -> BikeGeoIndex.distanceMeters(lat, lon, bike.getLatitude(), bike.getLongitude()))
+                .filter(distance -> distance <= radius)
+                .sorted(Comparator.naturalOrder())
+                .limit(limit)
+                .toList();
+
+            List<BikeGeoIndex.Hit> hits = index.nearest(lat, lon, radius, limit);
+            assertThat(hits).extracting(BikeGeoIndex.Hit::bikeId).doesNotHaveDuplicates();
+            assertThat(hits).extracting(BikeGeoIndex.Hit::distanceMeters)
+                .hasSameSizeAs(expected)
+                .isSorted();
+            for (int i = 0; i < expected.size(); i++) {
+                assertThat(hits.get(i).distanceMeters()).isCloseTo(expected.get(i), offset(1e-6));
+            }
+        }
+    }
+
+    @Test
+    void bikesLeaveTheIndexWhenNoLongerReady() {
+        BikeEntity bike = bikes.get(0);
+        assertThat(index.nearest(bike.getLatitude(), bike.getLongitude(), 1, 1))
+            .extracting(BikeGeoIndex.Hit::bikeId).containsExactly(bike.getId());
+
+        bike.setStatus(BikeStatus.IN_PROCESS);
+        index.index(bike);
+        assertThat(index.nearest(bike.getLatitude(), bike.getLongitude(), 1, 1)).isEmpty();
+
+        bike.setStatus(BikeStatus.READY);
+        bike.setLatitude(null);
+        index.index(bike);
+        assertThat(index.size()).isEqualTo(bikes.size() - 1);
+    }
+
+    private static BikeEntity bike(String id, double latitude, double longitude) {
+        return BikeEntity.builder()
+            .id(id)
+            .status(BikeStatus.READY)
+            .latitude(latitude)
+            .longitude(longitude)
+            .build();
+    }
+}
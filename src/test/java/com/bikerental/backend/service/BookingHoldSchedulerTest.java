@@ -0,0 +1,48 @@
+package com.bikerental.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingHoldSchedulerTest {
+
+    @Test
+    void failedExpiriesGoBackOnTheWheel() {
+        long now = System.currentTimeMillis();
+        TimingWheel wheel = new TimingWheel(1_000, 64, 4, now - 60_000);
+        wheel.schedule("paid-meanwhile", now - 30_000);
+        wheel.schedule("unreachable", now - 30_000);
+
+        BookingService bookingService = mock(BookingService.class);
+        when(bookingService.expireHolds(anyCollection())).thenAnswer(invocation -> {
+            Collection<?> ids = invocation.getArgument(0);
+            if (ids.contains("unreachable")) {
+                throw new IllegalStateException("connection refused");
+            }
+            return ids.size();
+        });
+
+        BookingHoldScheduler scheduler = new BookingHoldScheduler();
+        ReflectionTestUtils.setField(scheduler, "bookingService", bookingService);
+        ReflectionTestUtils.setField(scheduler, "wheel", wheel);
+        ReflectionTestUtils.setField(scheduler, "batchSize", 200);
+        ReflectionTestUtils.setField(scheduler, "retryDelay", Duration.ofSeconds(30));
+
+        scheduler.expireDue();
+
+        // The batch failed, then each id was tried on its own
+        verify(bookingService).expireHolds(List.of("paid-meanwhile"));
+        assertThat(scheduler.pendingHolds()).isEqualTo(1);
+        assertThat(wheel.advance(now + 29_000)).isEmpty();
+        assertThat(wheel.advance(now + 31_000)).containsExactly("unreachable");
+    }
+}
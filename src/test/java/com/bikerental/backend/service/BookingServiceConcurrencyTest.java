@@ -0,0 +1,180 @@
+package com.bikerental.backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bikerental.backend.dto.CreateBookingRequest;
+import com.bikerental.backend.entity.BikeEntity;
+import com.bikerental.backend.entity.BikeStatus;
+import com.bikerental.backend.entity.BookingEntity;
+import com.bikerental.backend.entity.UserEntity;
+import com.bikerental.backend.entity.UserRole;
+import com.bikerental.backend.repository.BikeRepository;
+import com.bikerental.backend.repository.BookingRepository;
+import com.bikerental.backend.repository.UserRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class BookingServiceConcurrencyTest {
+
+    private static final int BIKES = 4;
+    private static final int ATTEMPTS = 2_000;
+    private static final int THREADS = 32;
+    private static final int HOURS = 48;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BikeAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private UserEntity user;
+    private final List<String> bikeIds = new ArrayList<>();
+    private final LocalDateTime base = LocalDateTime.now().plusYears(1).withNano(0);
+
+    @BeforeEach
+    void seed() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(UserEntity.builder()
+            .phoneNumber("+91" + suffix)
+            .role(UserRole.CUSTOMER)
+            .physicalVerificationOneTime(true)
+            .build());
+        for (int i = 0; i < BIKES; i++) {
+            bikeIds.add(bikeRepository.save(BikeEntity.builder()
+                .model("Stress " + i)
+                .brand("Brand")
+                .registrationNumber("ST-" + suffix + "-" + i)
+                .pricePerHour(BigDecimal.TEN)
+                .status(BikeStatus.READY)
+                .build()).getId());
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (String bikeId : bikeIds) {
+            bookingRepository.deleteAll(bookingRepository.findByBikeId(bikeId));
+        }
+        bikeRepository.deleteAllById(bikeIds);
+        userRepository.delete(user);
+    }
+
+    @Test
+    void concurrentBookingsNeverOverlap() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        for (int i = 0; i < ATTEMPTS; i++) {
+            executor.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                LocalDateTime startTime = base.plusHours(random.nextInt(HOURS));
+                CreateBookingRequest request = CreateBookingRequest.builder()
+                    .bikeId(bikeIds.get(random.nextInt(BIKES)))
+                    .startTime(startTime)
+                    .endTime(startTime.plusHours(1 + random.nextInt(3)))
+                    .build();
+                try {
+                    start.await();
+                    bookingService.createBooking(user.getId(), request);
+                    booked.incrementAndGet();
+                } catch (Exception e) {
+                    rejected.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+
+        assertThat(booked.get()).isPositive();
+        assertThat(booked.get() + rejected.get()).isEqualTo(ATTEMPTS);
+
+        int persisted = 0;
+        for (String bikeId : bikeIds) {
+            List<BookingEntity> bookings = new ArrayList<>(bookingRepository.findByBikeId(bikeId));
+            bookings.sort(Comparator.comparing(BookingEntity::getStartTime));
+            for (int i = 1; i < bookings.size(); i++) {
+                assertThat(bookings.get(i).getStartTime())
+                    .as("double booking on bike %s", bikeId)
+                    .isAfterOrEqualTo(bookings.get(i - 1).getEndTime());
+            }
+            persisted += bookings.size();
+        }
+        assertThat(persisted).isEqualTo(booked.get());
+    }
+
+    @Test
+    void databaseGuardRejectsBookingCommittedByAnotherInstance() throws Exception {
+        LocalDateTime startTime = base.plusDays(30);
+        CreateBookingRequest request = CreateBookingRequest.builder()
+            .bikeId(bikeIds.get(0))
+            .startTime(startTime)
+            .endTime(startTime.plusHours(2))
+            .build();
+        CountDownLatch readViewOpen = new CountDownLatch(1);
+        CountDownLatch bookedElsewhere = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> attempt = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            // A plain read first opens this transaction's REPEATABLE READ view
+            bookingRepository.count();
+            readViewOpen.countDown();
+            awaitQuietly(bookedElsewhere);
+            bookingService.createBooking(user.getId(), request);
+        }));
+
+        assertThat(readViewOpen.await(1, TimeUnit.MINUTES)).isTrue();
+        String otherId = bookingService.createBooking(user.getId(), request).getId();
+        // As if another instance had booked it: this JVM's index does not know the slot
+        availabilityIndex.release(otherId);
+        bookedElsewhere.countDown();
+
+        assertThatThrownBy(() -> attempt.get(1, TimeUnit.MINUTES))
+            .hasRootCauseMessage("Bike is already booked for the selected time slot");
+        executor.shutdown();
+        assertThat(bookingRepository.findByBikeId(bikeIds.get(0))).hasSize(1);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.bikerental.backend.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bikerental.backend.dto.BookingDTO;
+import com.bikerental.backend.dto.CursorPage;
+import com.bikerental.backend.entity.BikeEntity;
+import com.bikerental.backend.entity.BikeStatus;
+import com.bikerental.backend.entity.BookingEntity;
+import com.bikerental.backend.entity.UserEntity;
+import com.bikerental.backend.entity.UserRole;
+import com.bikerental.backend.repository.BikeRepository;
+import com.bikerental.backend.repository.BookingRepository;
+import com.bikerental.backend.repository.UserRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class BookingServiceQueryCountTest {
+
+    private static final int BOOKINGS = 10;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String userId;
+
+    @BeforeEach
+    void seed() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        UserEntity user = userRepository.save(UserEntity.builder()
+            .phoneNumber("+91" + suffix)
+            .role(UserRole.CUSTOMER)
+            .build());
+        userId = user.getId();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < BOOKINGS; i++) {
+            // A different bike per booking, so lazy loading would cost one query each
+            BikeEntity bike = bikeRepository.save(BikeEntity.builder()
+                .model("Model " + i)
+                .brand("Brand")
+                .registrationNumber("QC-" + suffix + "-" + i)
+                .pricePerHour(BigDecimal.TEN)
+                .status(BikeStatus.READY)
+                .build());
+            bookingRepository.save(BookingEntity.builder()
+                .user(user)
+                .bike(bike)
+                .startTime(start.plusHours(i))
+                .endTime(start.plusHours(i + 1))
+                .totalAmount(BigDecimal.TEN)
+                .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void userHistoryPageUsesOneQueryPlusCount() {
+        Page<BookingDTO> page = bookingService.getBookingsByUser(userId, PageRequest.of(0, BOOKINGS));
+
+        assertThat(page.getContent()).hasSize(BOOKINGS);
+        assertThat(page.getContent()).allSatisfy(dto -> assertThat(dto.getBikeModel()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void adminPageUsesOneQueryPlusCount() {
+        Page<BookingDTO> page = bookingService.getAllBookings(PageRequest.of(0, BOOKINGS));
+
+        assertThat(page.getContent()).isNotEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void cursorPagesUseOneQuery() {
+        CursorPage<BookingDTO> page = bookingService.getBookingsByUser(userId, null, BOOKINGS / 2);
+        bookingService.getBookingsByUser(userId, page.getNextCursor(), BOOKINGS / 2);
+
+        assertThat(page.getContent()).hasSize(BOOKINGS / 2);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void singleBookingUsesOneQuery() {
+        String bookingId = bookingService.getBookingsByUser(userId, null, 1).getContent().get(0).getId();
+        statistics.clear();
+
+        BookingDTO booking = bookingService.getBookingById(bookingId);
+
+        assertThat(booking.getBikeModel()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
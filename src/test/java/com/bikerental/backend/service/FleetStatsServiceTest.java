@@ -0,0 +1,78 @@
+package com.bikerental.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bikerental.backend.entity.BikeEntity;
+import com.bikerental.backend.entity.BookingEntity;
+import com.bikerental.backend.entity.BookingStatus;
+import com.bikerental.backend.repository.BikeDailyStatsRepository;
+import com.bikerental.backend.repository.LocationDailyStatsRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class FleetStatsServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 11, 9, 0);
+    private static final LocalDate DAY = START.toLocalDate();
+
+    private BikeDailyStatsRepository bikeStatsRepository;
+    private FleetStatsService fleetStats;
+    private BookingEntity booking;
+
+    @BeforeEach
+    void setUp() {
+        bikeStatsRepository = mock(BikeDailyStatsRepository.class);
+        fleetStats = new FleetStatsService();
+        ReflectionTestUtils.setField(fleetStats, "bikeStatsRepository", bikeStatsRepository);
+        ReflectionTestUtils.setField(fleetStats, "locationStatsRepository", mock(LocationDailyStatsRepository.class));
+
+        booking = BookingEntity.builder()
+            .bike(BikeEntity.builder().id("bike-1").build())
+            .startTime(START)
+            .endTime(START.plusHours(3))
+            .pickupLocation("Depot")
+            .build();
+    }
+
+    @Test
+    void cancellingACompletedBookingRemovesTheRideToo() {
+        fleetStats.bookingTransition(booking, BookingStatus.COMPLETED, BookingStatus.CANCELLED);
+
+        verify(bikeStatsRepository).increment("bike-1", DAY, -1, -3, -1, BigDecimal.ZERO);
+    }
+
+    @Test
+    void completingACancelledBookingCountsItAgain() {
+        fleetStats.bookingTransition(booking, BookingStatus.CANCELLED, BookingStatus.COMPLETED);
+
+        verify(bikeStatsRepository).increment("bike-1", DAY, 1, 3, 1, BigDecimal.ZERO);
+    }
+
+    @Test
+    void newAndCompletedBookingsMatchTheRebuild() {
+        fleetStats.bookingTransition(booking, null, BookingStatus.PENDING);
+        fleetStats.bookingTransition(booking, BookingStatus.CONFIRMED, BookingStatus.COMPLETED);
+
+        verify(bikeStatsRepository).increment("bike-1", DAY, 1, 3, 0, BigDecimal.ZERO);
+        verify(bikeStatsRepository).increment("bike-1", DAY, 0, 0, 1, BigDecimal.ZERO);
+    }
+
+    @Test
+    void transitionsThatDoNotChangeTheCountsWriteNothing() {
+        fleetStats.bookingTransition(booking, BookingStatus.PENDING, BookingStatus.CONFIRMED);
+        fleetStats.bookingTransition(booking, BookingStatus.CANCELLED, BookingStatus.CANCELLED);
+
+        verify(bikeStatsRepository, never()).increment(anyString(), any(), anyLong(), anyLong(), anyLong(), any());
+    }
+}
@@ -0,0 +1,109 @@
+package com.bikerental.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bikerental.backend.entity.UserEntity;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LastLoginWriterTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 11, 9, 0);
+
+    private JdbcTemplate jdbcTemplate;
+    private Cache cache;
+    private LastLoginWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        cache = mock(Cache.class);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+
+        writer = new LastLoginWriter();
+        ReflectionTestUtils.setField(writer, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(writer, "entityManagerFactory", entityManagerFactory);
+        ReflectionTestUtils.setField(writer, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(writer, "maxPending", 3);
+        ReflectionTestUtils.setField(writer, "batchSize", 2);
+        writer.init();
+    }
+
+    @Test
+    void coalescesLoginsPerUserAndWritesInBatches() {
+        writer.record("a", NOW);
+        writer.record("a", NOW.plusMinutes(5));
+        writer.record("a", NOW.plusMinutes(1));
+        writer.record("b", NOW);
+        writer.record("c", NOW);
+        assertThat(writer.lastLogin("a", NOW)).isEqualTo(NOW.plusMinutes(5));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+
+        writer.flush();
+
+        List<Object[]> rows = capturedRows(2);
+        assertThat(rows).hasSize(3);
+        assertThat(rows).anySatisfy(row -> {
+            assertThat(row[1]).isEqualTo("a");
+            assertThat(row[0]).isEqualTo(Timestamp.valueOf(NOW.plusMinutes(5)));
+        });
+        verify(cache).evict(UserEntity.class, "a");
+        assertThat(writer.lastLogin("a", NOW)).isEqualTo(NOW);
+
+        writer.flush();
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void flushesWhenFullBeforeAcceptingAnotherUser() {
+        writer.record("a", NOW);
+        writer.record("b", NOW);
+        writer.record("c", NOW);
+        // Already pending, so no flush
+        writer.record("c", NOW.plusMinutes(1));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+
+        writer.record("d", NOW);
+
+        assertThat(capturedRows(2)).hasSize(3);
+        assertThat(writer.lastLogin("d", null)).isEqualTo(NOW);
+    }
+
+    @Test
+    void keepsFailedWritesForTheNextFlush() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new QueryTimeoutException("timeout"));
+        writer.record("a", NOW);
+
+        writer.flush();
+
+        assertThat(writer.lastLogin("a", null)).isEqualTo(NOW);
+        verify(cache, never()).evict(UserEntity.class, "a");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> capturedRows(int batches) {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(batches)).batchUpdate(anyString(), captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).toList();
+    }
+}
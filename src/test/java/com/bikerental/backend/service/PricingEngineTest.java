@@ -0,0 +1,103 @@
+package com.bikerental.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bikerental.backend.dto.PriceQuote;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PricingEngineTest {
+
+    // A Wednesday
+    private static final LocalDateTime WEDNESDAY = LocalDateTime.of(2026, 3, 11, 9, 0);
+    private static final long PRICE = 14_900; // Rs 149.00 per hour
+
+    @Test
+    void billsPerStartedMinuteWithAMinimum() {
+        PricingEngine engine = engine(0L, "1.0", "", "");
+
+        // 5h20m at Rs 149/h = Rs 794.67
+        PriceQuote quote = engine.quote("bike", PRICE, null, WEDNESDAY, WEDNESDAY.plusMinutes(320), null);
+        assertThat(quote.getBilledMinutes()).isEqualTo(320);
+        assertThat(quote.getTotalAmount()).isEqualTo(79_467);
+
+        // A started minute is billed in full; short rides pay the minimum
+        assertThat(engine.quote("bike", PRICE, null, WEDNESDAY, WEDNESDAY.plusSeconds(61 * 60 + 1), null)
+            .getBilledMinutes()).isEqualTo(62);
+        assertThat(engine.quote("bike", PRICE, null, WEDNESDAY, WEDNESDAY.plusMinutes(10), null)
+            .getTotalAmount()).isEqualTo(PRICE);
+    }
+
+    @Test
+    void capsEachDayAndAppliesWeekendAndLocationMultipliers() {
+        PricingEngine engine = engine(10L, "1.5", "Hitech City=1.10", "");
+
+        // Three weekdays, each capped at 10 hours
+        assertThat(engine.quote("bike", PRICE, null, WEDNESDAY, WEDNESDAY.plusDays(3), null).getTotalAmount())
+            .isEqualTo(3 * 10 * PRICE);
+
+        // Friday 22:00 to Saturday 02:00: two weekday hours, two weekend hours at 1.5x
+        LocalDateTime friday = LocalDateTime.of(2026, 3, 13, 22, 0);
+        PriceQuote quote = engine.quote("bike", PRICE, " hitech city ", friday, friday.plusHours(4), null);
+        assertThat(quote.getBaseAmount()).isEqualTo(2 * PRICE + 3 * PRICE);
+        assertThat(quote.getTotalAmount()).isEqualTo(Math.round(5 * PRICE * 1.10));
+        assertThat(quote.getAdjustmentAmount()).isEqualTo(quote.getTotalAmount() - quote.getBaseAmount());
+    }
+
+    @Test
+    void rejectsWindowsLongerThanTheMaximum() {
+        PricingEngine engine = engine(10L, "1.0", "", "");
+
+        assertThat(engine.window(WEDNESDAY, WEDNESDAY.plusDays(31)).blockWeights()).hasSize(31);
+        assertThatThrownBy(() -> engine.window(WEDNESDAY, WEDNESDAY.plusDays(31).plusSeconds(1)))
+            .hasMessage("Rental period must not exceed 31 days");
+        assertThatThrownBy(() -> engine.window(WEDNESDAY, LocalDateTime.MAX))
+            .hasMessage("Rental period must not exceed 31 days");
+    }
+
+    @Test
+    void appliesPromotionsAndCustomRulesInOrder() {
+        PricingEngine engine = engine(0L, "1.0", "", "welcome10=percent:10,FLAT500=flat:500,LONG=percent:20:240");
+        ReflectionTestUtils.setField(engine, "customRules", List.<PricingRule>of((context, amount) -> amount + 1_000));
+        engine.compile();
+
+        PriceQuote quote = engine.quote("bike", PRICE, null, WEDNESDAY, WEDNESDAY.plusHours(2), "WELCOME10");
+        assertThat(quote.getAdjustmentAmount()).isEqualTo(1_000);
+        assertThat(quote.getDiscountAmount()).isEqualTo((2 * PRICE + 1_000) / 10);
+        assertThat(quote.getPromoCode()).isEqualTo("WELCOME10");
+
+        // A flat discount never takes the total below zero
+        assertThat(engine.quote("bike", 100, null, WEDNESDAY, WEDNESDAY.plusHours(1), "flat500").getTotalAmount())
+            .isZero();
+
+        assertThatThrownBy(() -> engine.quote("bike", PRICE, null, WEDNESDAY, WEDNESDAY.plusHours(2), "LONG"))
+            .hasMessageContaining("at least 240 minutes");
+        assertThatThrownBy(() -> engine.quote("bike", PRICE, null, WEDNESDAY, WEDNESDAY.plusHours(2), "NOPE"))
+            .hasMessage("Invalid promo code");
+    }
+
+    @Test
+    void convertsBetweenRupeesAndPaise() {
+        assertThat(PricingEngine.toPaise(new BigDecimal("149.5"))).isEqualTo(14_950);
+        assertThat(PricingEngine.toRupees(79_467)).isEqualByComparingTo("794.67");
+    }
+
+    private static PricingEngine engine(long dailyCapHours, String weekendMultiplier,
+                                        String locationMultipliers, String promotions) {
+        PricingEngine engine = new PricingEngine();
+        ReflectionTestUtils.setField(engine, "minimumMinutes", 60L);
+        ReflectionTestUtils.setField(engine, "dailyCapHours", dailyCapHours);
+        ReflectionTestUtils.setField(engine, "maxWindowDays", 31L);
+        ReflectionTestUtils.setField(engine, "weekendMultiplier", weekendMultiplier);
+        ReflectionTestUtils.setField(engine, "locationMultipliers", locationMultipliers);
+        ReflectionTestUtils.setField(engine, "promotions", promotions);
+        engine.compile();
+        return engine;
+    }
+}
@@ -0,0 +1,167 @@
+package com.bikerental.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bikerental.backend.entity.BikeEntity;
+import com.bikerental.backend.entity.BikeStatus;
+import com.bikerental.backend.entity.CacheRegions;
+import com.bikerental.backend.entity.UserEntity;
+import com.bikerental.backend.entity.UserRole;
+import com.bikerental.backend.event.BikesImportedEvent;
+import com.bikerental.backend.repository.BikeRepository;
+import com.bikerental.backend.repository.UserRepository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: second-level cache entries are only written when a transaction commits
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    private static final PageRequest NEWEST_READY = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private String suffix;
+    private String bikeId;
+    private String userId;
+
+    @BeforeEach
+    void seed() {
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+        bikeId = bikeRepository.save(BikeEntity.builder()
+            .model("Cached")
+            .brand("Brand")
+            .registrationNumber("L2-" + suffix)
+            .pricePerHour(BigDecimal.TEN)
+            .status(BikeStatus.READY)
+            .build()).getId();
+        userId = userRepository.save(UserEntity.builder()
+            .phoneNumber("+91" + suffix)
+            .fullName("Before")
+            .role(UserRole.CUSTOMER)
+            .build()).getId();
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bikeRepository.deleteById(bikeId);
+        userRepository.deleteById(userId);
+    }
+
+    @Test
+    void bikeUpdateRefreshesEntityAndInvalidatesStatusQuery() {
+        bikeRepository.findById(bikeId);
+        bikeRepository.findById(bikeId);
+        assertThat(hits(CacheRegions.BIKES)).isEqualTo(1);
+
+        assertThat(readyBikeIds()).contains(bikeId);
+        assertThat(readyBikeIds()).contains(bikeId);
+        assertThat(hits(CacheRegions.BIKE_QUERIES)).isGreaterThanOrEqualTo(1);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            BikeEntity bike = bikeRepository.findById(bikeId).orElseThrow();
+            bike.setStatus(BikeStatus.MAINTENANCE);
+            bikeRepository.save(bike);
+        });
+        statistics.clear();
+
+        // Served from the cache, with the committed state
+        assertThat(bikeRepository.findById(bikeId).orElseThrow().getStatus()).isEqualTo(BikeStatus.MAINTENANCE);
+        assertThat(hits(CacheRegions.BIKES)).isEqualTo(1);
+
+        // The bikes table changed after the results were cached, so they are not reused
+        assertThat(readyBikeIds()).doesNotContain(bikeId);
+        assertThat(hits(CacheRegions.BIKE_QUERIES)).isZero();
+    }
+
+    @Test
+    void userUpdateRefreshesEntityAndInvalidatesPhoneLookup() {
+        String phoneNumber = "+91" + suffix;
+        assertThat(userRepository.findByPhoneNumber(phoneNumber)).isPresent();
+        assertThat(userRepository.findByPhoneNumber(phoneNumber)).isPresent();
+        assertThat(hits(CacheRegions.USER_QUERIES)).isEqualTo(1);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            UserEntity user = userRepository.findById(userId).orElseThrow();
+            user.setFullName("After");
+            user.setPhoneNumber("+92" + suffix);
+            userRepository.save(user);
+        });
+        statistics.clear();
+
+        assertThat(userRepository.findById(userId).orElseThrow().getFullName()).isEqualTo("After");
+        assertThat(hits(CacheRegions.USERS)).isEqualTo(1);
+        assertThat(userRepository.findByPhoneNumber(phoneNumber)).isEmpty();
+        assertThat(userRepository.findByPhoneNumber("+92" + suffix)).isPresent();
+    }
+
+    @Test
+    void bulkImportEvictsBikeQueryResults() {
+        readyBikeIds();
+        readyBikeIds();
+        assertThat(hits(CacheRegions.BIKE_QUERIES)).isGreaterThanOrEqualTo(1);
+
+        eventPublisher.publishEvent(new BikesImportedEvent(List.of(bikeId)));
+        statistics.clear();
+
+        readyBikeIds();
+        assertThat(hits(CacheRegions.BIKE_QUERIES)).isZero();
+    }
+
+    @Test
+    void exposesHitRatioPerRegion() {
+        bikeRepository.findById(bikeId);
+        bikeRepository.findById(bikeId);
+
+        assertThat(meterRegistry.get("bikerental.hibernate.cache.requests")
+            .tag("region", CacheRegions.BIKES).tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("bikerental.hibernate.cache.hit.ratio")
+            .tag("region", CacheRegions.BIKES).gauge().value()).isEqualTo(0.5);
+    }
+
+    private List<String> readyBikeIds() {
+        return bikeRepository.findByStatus(BikeStatus.READY, NEWEST_READY).map(BikeEntity::getId).getContent();
+    }
+
+    private long hits(String region) {
+        return statistics.getCacheRegionStatistics(region).getHitCount();
+    }
+}
@@ -0,0 +1,85 @@
+package com.bikerental.backend.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bikerental.backend.dto.BikeDTO;
+import com.bikerental.backend.dto.BookingDTO;
+import com.bikerental.backend.entity.BikeEntity;
+import com.bikerental.backend.entity.BikeStatus;
+import com.bikerental.backend.entity.BookingEntity;
+import com.bikerental.backend.entity.BookingStatus;
+import com.bikerental.backend.entity.UserEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service hot paths: DTO mapping. Unlike the benchmarks in the benchmark
+ * package this one lives here because BookingService.mapBookingToDTO and
+ * BikeService.mapBikeToDTO are package-private. Pricing lives in
+ * benchmark.PricingBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceHotPathBenchmark {
+
+    private final BookingService bookingService = new BookingService();
+
+    private BikeEntity bike;
+    private BookingEntity booking;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    @Setup
+    public void setUp() {
+        bike = BikeEntity.builder()
+            .id("b3c1a0de-6d0f-4a57-9d8e-3f1f2a8c9e11")
+            .model("Classic 350")
+            .brand("Royal Enfield")
+            .registrationNumber("TS09AB1234")
+            .pricePerHour(new BigDecimal("149.00"))
+            .status(BikeStatus.READY)
+            .currentLocation("Hyderabad")
+            .mileage(35)
+            .description("Well maintained, new tyres")
+            .build();
+        startTime = LocalDateTime.of(2026, 3, 14, 9, 30);
+        endTime = startTime.plusHours(5).plusMinutes(20);
+        booking = BookingEntity.builder()
+            .id("0f6b7c1e-1b2d-4c3e-8f9a-0b1c2d3e4f50")
+            .user(UserEntity.builder().id("7a1e2b3c-4d5e-6f70-8192-a3b4c5d6e7f8").build())
+            .bike(bike)
+            .startTime(startTime)
+            .endTime(endTime)
+            .totalAmount(new BigDecimal("745.00"))
+            .status(BookingStatus.CONFIRMED)
+            .pickupLocation("Hitech City")
+            .dropoffLocation("Gachibowli")
+            .createdAt(startTime.minusDays(1))
+            .build();
+    }
+
+    @Benchmark
+    public BookingDTO mapBookingToDTO() {
+        return bookingService.mapBookingToDTO(booking);
+    }
+
+    @Benchmark
+    public BikeDTO mapBikeToDTO() {
+        return BikeService.mapBikeToDTO(bike);
+    }
+}
@@ -0,0 +1,56 @@
+package com.bikerental.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private static final long START = 1_800_000_000_000L;
+
+    @Test
+    void expiresEachTimerOnceAtItsDeadline() {
+        TimingWheel wheel = new TimingWheel(1_000, 8, 3, START);
+        long[] delays = {1_000, 7_000, 9_000, 64_000, 65_000, 400_000, 600_000};
+        for (long delay : delays) {
+            wheel.schedule("t" + delay, START + delay);
+        }
+
+        List<String> expired = new ArrayList<>();
+        for (long now = START; now <= START + 700_000; now += 1_000) {
+            for (String id : wheel.advance(now)) {
+                long delay = Long.parseLong(id.substring(1));
+                // Never late, at most one tick early
+                assertThat(now).isBetween(START + delay - 1_000, START + delay);
+                expired.add(id);
+            }
+        }
+
+        assertThat(expired).hasSize(delays.length).doesNotHaveDuplicates();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelledAndRescheduledTimersDoNotFireEarly() {
+        TimingWheel wheel = new TimingWheel(1_000, 8, 3, START);
+        wheel.schedule("paid", START + 5_000);
+        wheel.schedule("extended", START + 5_000);
+        wheel.cancel("paid");
+        wheel.schedule("extended", START + 20_000);
+
+        assertThat(wheel.advance(START + 10_000)).isEmpty();
+        assertThat(wheel.advance(START + 20_000)).containsExactly("extended");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void pastDeadlinesExpireOnNextAdvance() {
+        TimingWheel wheel = new TimingWheel(1_000, 8, 3, START);
+        wheel.schedule("overdue", START - 60_000);
+
+        assertThat(wheel.advance(START)).containsExactly("overdue");
+    }
+}